@@ -0,0 +1,59 @@
+package ec.edu.espe.apigateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Respuestas cacheadas del catálogo público de eventos, por ruta + query.
+// Cualquier cambio de eventos invalida todo: el listado y los filtros por ciudad dependen de todos los eventos
+@Component
+public class CatalogoCache {
+
+    public record Entrada(byte[] cuerpo, String contentType, String etag, long expira, long generacion) {}
+
+    private final Map<String, Entrada> entradas;
+    private final long ttlMs;
+
+    // Sube con cada invalidación; una respuesta pedida antes de un cambio no se guarda
+    private final AtomicLong generacion = new AtomicLong();
+
+    public CatalogoCache(@Value("${gateway.catalogo.ttl:PT5M}") Duration ttl,
+                         @Value("${gateway.catalogo.max-entradas:1000}") int maxEntradas) {
+        this.ttlMs = ttl.toMillis();
+        this.entradas = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+                return size() > maxEntradas;
+            }
+        };
+    }
+
+    public long generacion() {
+        return generacion.get();
+    }
+
+    public synchronized Entrada obtener(String clave) {
+        Entrada e = entradas.get(clave);
+        if (e == null) return null;
+        if (e.expira() <= System.currentTimeMillis() || e.generacion() != generacion.get()) {
+            entradas.remove(clave);
+            return null;
+        }
+        return e;
+    }
+
+    public synchronized void guardar(String clave, byte[] cuerpo, String contentType, String etag, long generacionLeida) {
+        if (generacionLeida != generacion.get()) return;
+        entradas.put(clave, new Entrada(cuerpo, contentType, etag,
+                System.currentTimeMillis() + ttlMs, generacionLeida));
+    }
+
+    public synchronized void invalidar() {
+        generacion.incrementAndGet();
+        entradas.clear();
+    }
+}
@@ -0,0 +1,98 @@
+package ec.edu.espe.apigateway.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+// Sirve desde la caché del gateway los GET del catálogo público (listado y por ciudad),
+// con ETag/If-None-Match; en un miss se reenvía a ms-eventos y se guarda la respuesta 200
+@Component
+@RequiredArgsConstructor
+public class CatalogoCacheFilter extends OncePerRequestFilter {
+
+    private static final List<String> RUTAS = List.of(
+            "/api/ms-eventos/api/eventos",
+            "/api/ms-eventos/api/eventos/ciudad/*"
+    );
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final CatalogoCache cache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"GET".equalsIgnoreCase(request.getMethod())) return true;
+        String path = request.getRequestURI();
+        return RUTAS.stream().noneMatch(r -> MATCHER.match(r, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String clave = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        CatalogoCache.Entrada entrada = cache.obtener(clave);
+        if (entrada != null) {
+            escribir(request, response, entrada.cuerpo(), entrada.contentType(), entrada.etag());
+            return;
+        }
+
+        long generacion = cache.generacion();
+        ContentCachingResponseWrapper copia = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, copia);
+
+        if (copia.getStatus() != HttpServletResponse.SC_OK) {
+            copia.copyBodyToResponse();
+            return;
+        }
+        byte[] cuerpo = copia.getContentAsByteArray();
+        String etag = etag(cuerpo);
+        cache.guardar(clave, cuerpo, copia.getContentType(), etag, generacion);
+
+        copia.setHeader(HttpHeaders.ETAG, etag);
+        copia.setHeader("X-Cache", "MISS");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            copia.resetBuffer();
+            copia.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        }
+        copia.copyBodyToResponse();
+    }
+
+    private void escribir(HttpServletRequest request, HttpServletResponse response,
+                          byte[] cuerpo, String contentType, String etag) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader("X-Cache", "HIT");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (contentType != null) response.setContentType(contentType);
+        response.setContentLength(cuerpo.length);
+        response.getOutputStream().write(cuerpo);
+    }
+
+    private String etag(byte[] cuerpo) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(cuerpo);
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
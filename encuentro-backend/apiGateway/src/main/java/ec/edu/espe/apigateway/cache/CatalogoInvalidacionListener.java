@@ -0,0 +1,21 @@
+package ec.edu.espe.apigateway.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+// Mensajes CREAR/ACTUALIZAR/ELIMINAR de EventoProducer (ms-eventos) vía eventos.exchange
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogoInvalidacionListener {
+
+    private final CatalogoCache cache;
+
+    @RabbitListener(queues = "#{catalogoInvalidacionCola.name}")
+    public void recibirCambio(String mensaje) {
+        log.debug("Cambio en eventos, se invalida la caché del catálogo: {}", mensaje);
+        cache.invalidar();
+    }
+}
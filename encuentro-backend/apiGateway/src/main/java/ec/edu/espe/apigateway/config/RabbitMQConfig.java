@@ -0,0 +1,27 @@
+package ec.edu.espe.apigateway.config;
+
+import org.springframework.amqp.core.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+    public static final String EXCHANGE_EVENTOS = "eventos.exchange";
+
+    @Bean
+    public FanoutExchange eventosExchange() {
+        return ExchangeBuilder.fanoutExchange(EXCHANGE_EVENTOS).durable(true).build();
+    }
+
+    // Cola propia de cada instancia del gateway (exclusiva, se borra al desconectarse):
+    // todas reciben cada cambio de eventos, sin competir con tickets por eventos.cola
+    @Bean
+    public Queue catalogoInvalidacionCola() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding catalogoInvalidacionBinding(Queue catalogoInvalidacionCola, FanoutExchange eventosExchange) {
+        return BindingBuilder.bind(catalogoInvalidacionCola).to(eventosExchange);
+    }
+}
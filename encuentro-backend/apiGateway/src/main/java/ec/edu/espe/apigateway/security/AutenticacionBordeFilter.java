@@ -0,0 +1,90 @@
+package ec.edu.espe.apigateway.security;
+
+import ec.edu.espe.apigateway.utils.JwtService;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+// Verifica el JWT una sola vez en el gateway y reenvía la identidad firmada a los servicios.
+// No rechaza peticiones: sin token válido se reenvía sin la cabecera y cada servicio decide
+@Component
+@RequiredArgsConstructor
+public class AutenticacionBordeFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final IdentidadGateway identidadGateway;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String identidad = null;
+        String token = extraerToken(request);
+        if (token != null) {
+            Claims claims = jwtService.verificar(token);
+            if (claims != null && claims.getSubject() != null && claims.get("role", String.class) != null) {
+                identidad = identidadGateway.firmar(claims.getSubject(), claims.get("role", String.class),
+                        claims.getExpiration().getTime());
+            }
+        }
+        // Siempre se reemplaza la cabecera: un cliente no puede enviar la suya
+        chain.doFilter(new ConIdentidad(request, identidad), response);
+    }
+
+    private String extraerToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if ("token".equals(cookie.getName())) return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static class ConIdentidad extends HttpServletRequestWrapper {
+
+        private final String identidad;
+
+        ConIdentidad(HttpServletRequest request, String identidad) {
+            super(request);
+            this.identidad = identidad;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (IdentidadGateway.CABECERA.equalsIgnoreCase(name)) return identidad;
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (IdentidadGateway.CABECERA.equalsIgnoreCase(name)) {
+                return identidad != null ? Collections.enumeration(List.of(identidad)) : Collections.emptyEnumeration();
+            }
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> nombres = Collections.list(super.getHeaderNames());
+            nombres.removeIf(IdentidadGateway.CABECERA::equalsIgnoreCase);
+            if (identidad != null) nombres.add(IdentidadGateway.CABECERA);
+            return Collections.enumeration(nombres);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ec.edu.espe.apigateway.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+
+// Firma la identidad (sujeto, rol, exp) que el gateway reenvía a los servicios en X-Identidad-Gateway.
+// Formato: base64url("sujeto|rol|expMillis") + "." + base64url(HMAC-SHA256)
+@Component
+public class IdentidadGateway {
+
+    public static final String CABECERA = "X-Identidad-Gateway";
+
+    private final SecretKeySpec clave;
+    private final ThreadLocal<Mac> macs;
+
+    public IdentidadGateway(@Value("${gateway.identidad.secreto}") String secreto) {
+        this.clave = new SecretKeySpec(secreto.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(clave);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public String firmar(String sujeto, String rol, long expMillis) {
+        byte[] datos = (sujeto + "|" + rol + "|" + expMillis).getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        return b64.encodeToString(datos) + "." + b64.encodeToString(macs.get().doFinal(datos));
+    }
+}
@@ -0,0 +1,70 @@
+package ec.edu.espe.apigateway.utils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Verificación de JWT en el borde; misma clave que emite ms-autenticacion
+@Service
+public class JwtService {
+    private final String SECRET_KEY = "soyUnaClave123456789123456789123456789"; // mínimo 32 caracteres
+
+    private static final int MAX_TOKENS_EN_CACHE = 10_000;
+
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // LRU hash(token) -> claims ya verificados; cada entrada vale hasta el exp del token
+    private final Map<String, Claims> verificados = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+            return size() > MAX_TOKENS_EN_CACHE;
+        }
+    };
+
+    // Claims si el token es válido, null si no
+    public Claims verificar(String token) {
+        String clave = hash(token);
+        long ahora = System.currentTimeMillis();
+        synchronized (verificados) {
+            Claims claims = verificados.get(clave);
+            if (claims != null) {
+                if (claims.getExpiration().getTime() > ahora) return claims;
+                verificados.remove(clave);
+            }
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (claims.getExpiration() != null) {
+            synchronized (verificados) {
+                verificados.put(clave, claims);
+            }
+        }
+        return claims;
+    }
+
+    private String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
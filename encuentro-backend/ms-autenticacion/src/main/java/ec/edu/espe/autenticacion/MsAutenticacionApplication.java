@@ -2,8 +2,10 @@ package ec.edu.espe.autenticacion;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class MsAutenticacionApplication {
 
     public static void main(String[] args) {
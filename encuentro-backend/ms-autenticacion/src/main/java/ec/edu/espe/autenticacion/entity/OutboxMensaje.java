@@ -0,0 +1,33 @@
+package ec.edu.espe.autenticacion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Mensaje pendiente de publicar en RabbitMQ; se escribe en la misma transacción que el cambio
+@Entity
+@Table(name = "outbox_mensaje")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxMensaje {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String cola;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Reclamado por un relay hasta este instante; vencido o null = pendiente
+    private Instant reclamadoHasta;
+}
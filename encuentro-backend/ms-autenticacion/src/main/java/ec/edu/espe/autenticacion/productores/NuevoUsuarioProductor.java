@@ -1,28 +1,19 @@
 package ec.edu.espe.autenticacion.productores;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import ec.edu.espe.autenticacion.DTO.TokenResponseDTO;
 import ec.edu.espe.autenticacion.DTO.UsuarioDTO;
-import ec.edu.espe.autenticacion.entity.AuthenticatorUser;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 @Service
 public class NuevoUsuarioProductor {
     @Autowired
-    private RabbitTemplate rabbitTemplate;
-
-    @Autowired
-    private ObjectMapper objectMapper;
+    private OutboxPublisher outbox;
 
     public void enviarUsuario(UsuarioDTO usuarioDTO) {
-        try{
-            String json = objectMapper.writeValueAsString(usuarioDTO);
-            rabbitTemplate.convertAndSend("usuario.cola", json);
-        }catch (Exception e)
-        {
-            e.printStackTrace();
-        }
+        // La contraseña no viaja: ms-usuarios no la usa y el mensaje queda guardado en el outbox
+        UsuarioDTO mensaje = new UsuarioDTO(usuarioDTO.getCedula(), usuarioDTO.getNombre(),
+                usuarioDTO.getApellido(), usuarioDTO.getEdad(), usuarioDTO.getFechaNacimiento(),
+                usuarioDTO.getDireccion(), usuarioDTO.getTelefono(), usuarioDTO.getCorreo(), null);
+        outbox.publicar("usuario.cola", mensaje);
     }
 }
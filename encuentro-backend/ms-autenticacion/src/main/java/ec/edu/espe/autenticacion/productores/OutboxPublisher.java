@@ -0,0 +1,30 @@
+package ec.edu.espe.autenticacion.productores;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.edu.espe.autenticacion.entity.OutboxMensaje;
+import ec.edu.espe.autenticacion.repository.OutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+// Encola un mensaje en la tabla outbox (dentro de la transacción en curso, si la hay);
+// OutboxRelay lo publica en RabbitMQ después del commit
+@Service
+public class OutboxPublisher {
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void publicar(String cola, Object mensaje) {
+        try {
+            outboxRepository.save(new OutboxMensaje(null, cola,
+                    objectMapper.writeValueAsString(mensaje), Instant.now(), null));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el mensaje para " + cola, e);
+        }
+    }
+}
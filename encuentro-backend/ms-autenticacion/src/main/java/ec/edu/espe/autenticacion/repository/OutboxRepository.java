@@ -0,0 +1,25 @@
+package ec.edu.espe.autenticacion.repository;
+
+import ec.edu.espe.autenticacion.entity.OutboxMensaje;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxMensaje, Long> {
+
+    // Reclama un lote marcándolo hasta :hasta; SKIP LOCKED: varias instancias pueden publicar sin
+    // tomar los mismos mensajes. Un relay caído deja vencer el reclamo y otro lo retoma.
+    @Query(value = "update outbox_mensaje set reclamado_hasta = :hasta where id in (" +
+            "select id from outbox_mensaje where reclamado_hasta is null or reclamado_hasta < :ahora " +
+            "order by id limit :limite for update skip locked) returning *", nativeQuery = true)
+    List<OutboxMensaje> reclamarPendientes(@Param("limite") int limite, @Param("ahora") Instant ahora, @Param("hasta") Instant hasta);
+
+    @Modifying
+    @Query("update OutboxMensaje m set m.reclamadoHasta = null where m.id in :ids")
+    int liberar(@Param("ids") Collection<Long> ids);
+}
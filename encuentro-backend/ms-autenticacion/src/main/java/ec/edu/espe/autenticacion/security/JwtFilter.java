@@ -1,6 +1,7 @@
 package ec.edu.espe.autenticacion.security;
 
 import ec.edu.espe.autenticacion.utils.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -26,10 +27,12 @@ import java.util.List;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final IdentidadGateway identidadGateway;
 
     @Autowired
-    public JwtFilter(JwtService jwtService) {
+    public JwtFilter(JwtService jwtService, IdentidadGateway identidadGateway) {
         this.jwtService = jwtService;
+        this.identidadGateway = identidadGateway;
     }
 
     @Override
@@ -57,6 +60,19 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Camino rápido: identidad ya verificada y firmada por el gateway, sin JWT que parsear
+        IdentidadGateway.Identidad identidad = identidadGateway.leer(request);
+        if (identidad != null) {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        identidad.sujeto(), null, Collections.singletonList(new SimpleGrantedAuthority(identidad.rol())));
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         String token = null;
         Cookie[] cookies = request.getCookies();
         log.info(Arrays.toString(cookies));
@@ -79,15 +95,17 @@ public class JwtFilter extends OncePerRequestFilter {
             }
         }
 
-        if (token == null || !jwtService.isTokenValid(token)) {
+        // Una sola verificación por petición (con caché de tokens ya verificados)
+        Claims claims = token != null ? jwtService.verificar(token) : null;
+        if (claims == null) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Acceso no autorizado: token inválido o ausente");
             return;
         }
 
         // Extraer datos del token
-        String username = jwtService.extractUsername(token);
-        String role = jwtService.extractClaim(token, claims -> claims.get("role", String.class)); // ← Asegúrate que exista este claim
+        String username = claims.getSubject();
+        String role = claims.get("role", String.class); // ← Asegúrate que exista este claim
 
         if (username != null && role != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role); // ← aquí debe venir ROLE_CLIENTE
@@ -20,6 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 
@@ -39,6 +40,8 @@ public class AuthenticatorUserService {
     NuevoUsuarioProductor  nuevoUsuarioProductor;
     @Autowired
     NotificacionProducer  notificacionProducer;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     private final CedulaEcuatoriana cedulaEcuatoriana = new CedulaEcuatoriana();
 
@@ -68,10 +71,12 @@ public class AuthenticatorUserService {
             role.setNombreRole("ROLE_USER");
             authenticatorUser.setID_ROLE(role);
 
-            // Guardar en la base de datos
-            AuthenticatorUser saved = authenticatorUserRepositoy.save(authenticatorUser);
-            //Aquí debe ir la info para el microservicio Usuario
-            nuevoUsuarioProductor.enviarUsuario(usuarioDTO);
+            // Guardar en la base de datos junto con el mensaje para el microservicio Usuario (outbox)
+            AuthenticatorUser saved = transactionTemplate.execute(status -> {
+                AuthenticatorUser guardado = authenticatorUserRepositoy.save(authenticatorUser);
+                nuevoUsuarioProductor.enviarUsuario(usuarioDTO);
+                return guardado;
+            });
             log.info("Registrado exitosamente");
             return ResponseEntity
                     .status(HttpStatus.CREATED)
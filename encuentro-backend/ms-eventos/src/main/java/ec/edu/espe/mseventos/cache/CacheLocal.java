@@ -0,0 +1,77 @@
+package ec.edu.espe.mseventos.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// Caché de lectura acotada (LRU) con TTL. Métricas en actuator con los nombres estándar de Spring:
+// cache.gets{cache, result=hit|miss}, cache.evictions{cache} y cache.size{cache}
+public class CacheLocal<K, V> {
+
+    private record Entrada<V>(V valor, long expira) {}
+
+    private final Map<K, Entrada<V>> entradas;
+    private final long ttlMs;
+    private final Counter aciertos;
+    private final Counter fallos;
+    private final Counter desalojos;
+
+    // Sube con cada invalidación: un valor leído antes de una escritura no se guarda
+    private long generacion;
+
+    public CacheLocal(String nombre, int maxEntradas, long ttlMs, MeterRegistry registry) {
+        this.ttlMs = ttlMs;
+        this.entradas = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                if (size() <= maxEntradas) return false;
+                desalojos.increment();
+                return true;
+            }
+        };
+        this.aciertos = Counter.builder("cache.gets").tag("cache", nombre).tag("result", "hit").register(registry);
+        this.fallos = Counter.builder("cache.gets").tag("cache", nombre).tag("result", "miss").register(registry);
+        this.desalojos = Counter.builder("cache.evictions").tag("cache", nombre).register(registry);
+        Gauge.builder("cache.size", this, CacheLocal::tamanio).tag("cache", nombre).register(registry);
+    }
+
+    // La carga se hace fuera del lock; si hubo una invalidación mientras tanto el resultado no se guarda
+    public V obtener(K clave, Function<K, V> cargador) {
+        long leida;
+        synchronized (this) {
+            Entrada<V> e = entradas.get(clave);
+            if (e != null && e.expira() > System.currentTimeMillis()) {
+                aciertos.increment();
+                return e.valor();
+            }
+            if (e != null) entradas.remove(clave);
+            leida = generacion;
+        }
+        fallos.increment();
+        V valor = cargador.apply(clave);
+        synchronized (this) {
+            if (valor != null && leida == generacion) {
+                entradas.put(clave, new Entrada<>(valor, System.currentTimeMillis() + ttlMs));
+            }
+        }
+        return valor;
+    }
+
+    public synchronized void invalidar(K clave) {
+        generacion++;
+        entradas.remove(clave);
+    }
+
+    public synchronized void invalidarTodo() {
+        generacion++;
+        entradas.clear();
+    }
+
+    private synchronized int tamanio() {
+        return entradas.size();
+    }
+}
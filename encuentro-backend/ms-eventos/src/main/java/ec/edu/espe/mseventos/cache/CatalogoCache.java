@@ -0,0 +1,87 @@
+package ec.edu.espe.mseventos.cache;
+
+import ec.edu.espe.mseventos.dto.CiudadDTO;
+import ec.edu.espe.mseventos.dto.EventoDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Cachés del catálogo de ms-eventos. Las escrituras invalidan al confirmar la transacción en la
+// instancia que escribe; las demás invalidan al recibir el cambio (CatalogoCambiosListener).
+// El TTL queda como respaldo si se pierde un mensaje
+@Component
+public class CatalogoCache {
+
+    private static final String TODOS = "todos";
+
+    private final CacheLocal<Long, EventoDTO> eventos;
+    private final CacheLocal<String, List<EventoDTO>> listado;
+    private final CacheLocal<Long, List<EventoDTO>> porCiudad;
+    private final CacheLocal<String, List<CiudadDTO>> ciudades;
+
+    public CatalogoCache(MeterRegistry registry,
+                         @Value("${eventos.cache.ttl:PT10M}") Duration ttlEventos,
+                         @Value("${eventos.cache.ttl-ciudades:PT1H}") Duration ttlCiudades,
+                         @Value("${eventos.cache.max-eventos:5000}") int maxEventos,
+                         @Value("${eventos.cache.max-ciudades:500}") int maxCiudades) {
+        this.eventos = new CacheLocal<>("eventos", maxEventos, ttlEventos.toMillis(), registry);
+        this.listado = new CacheLocal<>("eventos.listado", 1, ttlEventos.toMillis(), registry);
+        this.porCiudad = new CacheLocal<>("eventos.ciudad", maxCiudades, ttlEventos.toMillis(), registry);
+        this.ciudades = new CacheLocal<>("ciudades", 1, ttlCiudades.toMillis(), registry);
+    }
+
+    public EventoDTO evento(Long idEvento, Supplier<EventoDTO> cargador) {
+        return eventos.obtener(idEvento, k -> cargador.get());
+    }
+
+    public List<EventoDTO> listado(Supplier<List<EventoDTO>> cargador) {
+        return listado.obtener(TODOS, k -> List.copyOf(cargador.get()));
+    }
+
+    public List<EventoDTO> eventosDeCiudad(Long idCiudad, Supplier<List<EventoDTO>> cargador) {
+        return porCiudad.obtener(idCiudad, k -> List.copyOf(cargador.get()));
+    }
+
+    public List<CiudadDTO> ciudades(Supplier<List<CiudadDTO>> cargador) {
+        return ciudades.obtener(TODOS, k -> List.copyOf(cargador.get()));
+    }
+
+    // Un cambio de evento afecta su detalle, el listado completo y los listados por ciudad
+    // (al actualizar puede cambiar de ciudad, por eso se limpian todos)
+    public void eventoModificado(Long idEvento) {
+        alConfirmar(() -> invalidarEvento(idEvento));
+    }
+
+    public void ciudadesModificadas() {
+        alConfirmar(this::invalidarCiudades);
+    }
+
+    public void invalidarEvento(Long idEvento) {
+        eventos.invalidar(idEvento);
+        listado.invalidarTodo();
+        porCiudad.invalidarTodo();
+    }
+
+    public void invalidarCiudades() {
+        ciudades.invalidarTodo();
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+}
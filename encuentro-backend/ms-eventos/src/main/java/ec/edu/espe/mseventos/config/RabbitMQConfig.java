@@ -6,9 +6,51 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
+    public static final String EXCHANGE_EVENTOS = "eventos.exchange";
+    public static final String EXCHANGE_CIUDADES = "ciudades.exchange";
+
     @Bean
     public Queue eventosCola() {
         return QueueBuilder.durable("eventos.cola").build();
     }
 
+    // Fanout: tickets (eventos.cola) y cada instancia del apiGateway (invalidación de caché)
+    // reciben su propia copia de CREAR/ACTUALIZAR/ELIMINAR
+    @Bean
+    public FanoutExchange eventosExchange() {
+        return ExchangeBuilder.fanoutExchange(EXCHANGE_EVENTOS).durable(true).build();
+    }
+
+    @Bean
+    public Binding eventosColaBinding(Queue eventosCola, FanoutExchange eventosExchange) {
+        return BindingBuilder.bind(eventosCola).to(eventosExchange);
+    }
+
+    // Cambios de ciudades; solo lo consumen las instancias de ms-eventos
+    @Bean
+    public FanoutExchange ciudadesExchange() {
+        return ExchangeBuilder.fanoutExchange(EXCHANGE_CIUDADES).durable(true).build();
+    }
+
+    // Colas propias de cada instancia de ms-eventos (exclusivas, se borran al desconectarse):
+    // todas ven los cambios hechos por cualquier otra y actualizan su índice de búsqueda
+    @Bean
+    public Queue eventosInstanciaCola() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding eventosInstanciaBinding(Queue eventosInstanciaCola, FanoutExchange eventosExchange) {
+        return BindingBuilder.bind(eventosInstanciaCola).to(eventosExchange);
+    }
+
+    @Bean
+    public Queue ciudadesInstanciaCola() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding ciudadesInstanciaBinding(Queue ciudadesInstanciaCola, FanoutExchange ciudadesExchange) {
+        return BindingBuilder.bind(ciudadesInstanciaCola).to(ciudadesExchange);
+    }
 }
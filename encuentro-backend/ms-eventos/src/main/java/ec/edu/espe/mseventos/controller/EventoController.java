@@ -1,15 +1,20 @@
 package ec.edu.espe.mseventos.controller;
 
+import ec.edu.espe.mseventos.dto.BusquedaEventosDTO;
 import ec.edu.espe.mseventos.dto.EventoDTO;
+import ec.edu.espe.mseventos.dto.PaginaEventosDTO;
 import ec.edu.espe.mseventos.dto.ResponseDto;
 import ec.edu.espe.mseventos.service.EventoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -46,6 +51,33 @@ public class EventoController {
         return ResponseEntity.ok(new ResponseDto("Eventos de la ciudad obtenidos exitosamente", eventos));
     }
 
+    @GetMapping("/buscar")
+    public ResponseEntity<ResponseDto> buscarEventos(
+            @RequestParam(required = false) Long ciudad,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) BigDecimal precioMin,
+            @RequestParam(required = false) BigDecimal precioMax,
+            @RequestParam(required = false) String establecimiento,
+            @RequestParam(required = false) String despues,
+            @RequestParam(defaultValue = "20") int limite) {
+        PaginaEventosDTO pagina = eventoService.buscarEventos(ciudad, desde, hasta, precioMin, precioMax,
+                establecimiento, despues, limite);
+        return ResponseEntity.ok(new ResponseDto("Eventos obtenidos exitosamente", pagina));
+    }
+
+    // Búsqueda de texto sobre nombre, establecimiento y ciudad (tolera prefijos y un error de tipeo)
+    @GetMapping("/busqueda")
+    public ResponseEntity<ResponseDto> buscarTexto(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long ciudad,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "20") int limite) {
+        BusquedaEventosDTO resultado = eventoService.buscarTexto(q, ciudad, desde, hasta, limite);
+        return ResponseEntity.ok(new ResponseDto("Búsqueda realizada exitosamente", resultado));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ResponseDto> actualizarEvento(@PathVariable Long id, @Valid @RequestBody EventoDTO eventoDTO, BindingResult result) {
         if (result.hasErrors()) {
@@ -0,0 +1,11 @@
+package ec.edu.espe.mseventos.dto;
+
+import java.util.List;
+
+// total y facetas se calculan sobre todos los resultados; eventos trae solo los primeros por relevancia
+public record BusquedaEventosDTO(
+        List<EventoDTO> eventos,
+        int total,
+        List<FacetaDTO> porCiudad,
+        List<FacetaDTO> porMes
+) {}
@@ -0,0 +1,14 @@
+package ec.edu.espe.mseventos.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Aviso de cambio de ciudad para las demás instancias de ms-eventos (ciudades.exchange)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CiudadColaDTO {
+    private Long idCiudad;
+    private String operacion;
+}
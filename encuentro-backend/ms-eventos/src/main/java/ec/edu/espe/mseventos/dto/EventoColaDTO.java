@@ -4,6 +4,10 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,4 +15,11 @@ public class EventoColaDTO {
     private Long idEvento;
     private Integer capacidad;
     private String operacion;
+    private String nombre;
+    private Long idCiudad;
+    private String ciudad;
+    private String establecimiento;
+    private LocalDate fecha;
+    private LocalTime hora;
+    private BigDecimal precio;
 }
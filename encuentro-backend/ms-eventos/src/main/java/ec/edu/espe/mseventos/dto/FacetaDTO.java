@@ -0,0 +1,8 @@
+package ec.edu.espe.mseventos.dto;
+
+// Conteo de resultados por valor de una faceta (ciudad o mes del evento)
+public record FacetaDTO(
+        String valor,
+        String nombre,
+        int cantidad
+) {}
@@ -0,0 +1,16 @@
+package ec.edu.espe.mseventos.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Filtros opcionales del listado de eventos; (despuesFecha, despuesId) es el cursor de la página anterior
+public record FiltroEventosDTO(
+        Long idCiudad,
+        LocalDate desde,
+        LocalDate hasta,
+        BigDecimal precioMin,
+        BigDecimal precioMax,
+        String establecimiento,
+        LocalDate despuesFecha,
+        Long despuesId
+) {}
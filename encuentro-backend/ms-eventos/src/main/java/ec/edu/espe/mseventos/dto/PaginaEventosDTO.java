@@ -0,0 +1,9 @@
+package ec.edu.espe.mseventos.dto;
+
+import java.util.List;
+
+// siguiente = cursor "fecha_id" para pedir la próxima página, null si no hay más
+public record PaginaEventosDTO(
+        List<EventoDTO> eventos,
+        String siguiente
+) {}
@@ -0,0 +1,45 @@
+package ec.edu.espe.mseventos.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.edu.espe.mseventos.cache.CatalogoCache;
+import ec.edu.espe.mseventos.dto.CiudadColaDTO;
+import ec.edu.espe.mseventos.dto.EventoColaDTO;
+import ec.edu.espe.mseventos.service.BuscadorEventos;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+// Cambios de eventos y ciudades hechos por cualquier instancia de ms-eventos (también esta):
+// cada instancia los recibe en su propia cola, invalida sus cachés y actualiza su índice de búsqueda
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogoCambiosListener {
+
+    private final ObjectMapper objectMapper;
+    private final BuscadorEventos buscador;
+    private final CatalogoCache cache;
+
+    @RabbitListener(queues = "#{eventosInstanciaCola.name}")
+    public void recibirEvento(String mensaje) {
+        try {
+            EventoColaDTO dto = objectMapper.readValue(mensaje, EventoColaDTO.class);
+            cache.invalidarEvento(dto.getIdEvento());
+            buscador.sincronizar(dto.getIdEvento());
+        } catch (Exception e) {
+            log.warn("No se pudo aplicar el cambio de evento {}: {}", mensaje, e.getMessage());
+        }
+    }
+
+    @RabbitListener(queues = "#{ciudadesInstanciaCola.name}")
+    public void recibirCiudad(String mensaje) {
+        try {
+            CiudadColaDTO dto = objectMapper.readValue(mensaje, CiudadColaDTO.class);
+            cache.invalidarCiudades();
+            buscador.sincronizarCiudad(dto.getIdCiudad());
+        } catch (Exception e) {
+            log.warn("No se pudo aplicar el cambio de ciudad {}: {}", mensaje, e.getMessage());
+        }
+    }
+}
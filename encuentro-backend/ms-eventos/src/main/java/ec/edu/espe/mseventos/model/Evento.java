@@ -8,7 +8,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "eventos")
+@Table(name = "eventos", indexes = {
+        @Index(name = "idx_eventos_ciudad_fecha", columnList = "id_ciudad_fk, fecha, id_evento"),
+        @Index(name = "idx_eventos_fecha", columnList = "fecha, id_evento"),
+        @Index(name = "idx_eventos_establecimiento_fecha", columnList = "establecimiento, fecha, id_evento")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,12 +20,14 @@ public class Evento {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_evento")
     private Long idEvento;
 
     @Column(nullable = false)
     private String nombre;
 
-    @ManyToOne
+    // LAZY: los listados se leen con proyecciones y solo necesitan el id de la ciudad
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_ciudad_fk", nullable = false)
     private Ciudad ciudad;
 
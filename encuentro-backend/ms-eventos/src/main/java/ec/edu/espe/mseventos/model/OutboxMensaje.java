@@ -0,0 +1,34 @@
+package ec.edu.espe.mseventos.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// Mensaje pendiente de publicar en RabbitMQ; se escribe en la misma transacción que el cambio
+@Entity
+@Table(name = "outbox_mensaje")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxMensaje {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Vacío o null: exchange por defecto, y "cola" es directamente la cola destino
+    private String exchange;
+
+    @Column(nullable = false)
+    private String cola;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Reclamado por un relay hasta este instante; vencido o null = pendiente
+    private Instant reclamadoHasta;
+}
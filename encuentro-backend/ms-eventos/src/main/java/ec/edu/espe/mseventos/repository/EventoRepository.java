@@ -1,10 +1,29 @@
 package ec.edu.espe.mseventos.repository;
 
+import ec.edu.espe.mseventos.dto.EventoDTO;
 import ec.edu.espe.mseventos.model.Evento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface EventoRepository extends JpaRepository<Evento, Long> {
-    // También puedes agregar consultas personalizadas si lo requieres
-}
\ No newline at end of file
+public interface EventoRepository extends JpaRepository<Evento, Long>, EventoRepositoryCustom {
+
+    // Proyecciones directas al DTO: sin hidratar entidades ni cargar la ciudad (e.ciudad.id es la FK)
+    @Query("select new ec.edu.espe.mseventos.dto.EventoDTO(e.idEvento, e.nombre, e.ciudad.id, e.establecimiento, " +
+            "e.fecha, e.hora, e.capacidad, e.imagenUrl, e.precio) from Evento e order by e.fecha, e.idEvento")
+    List<EventoDTO> listarProyectado();
+
+    @Query("select new ec.edu.espe.mseventos.dto.EventoDTO(e.idEvento, e.nombre, e.ciudad.id, e.establecimiento, " +
+            "e.fecha, e.hora, e.capacidad, e.imagenUrl, e.precio) from Evento e " +
+            "where e.ciudad.id = :idCiudad order by e.fecha, e.idEvento")
+    List<EventoDTO> listarPorCiudad(@Param("idCiudad") Long idCiudad);
+
+    @Query("select new ec.edu.espe.mseventos.dto.EventoDTO(e.idEvento, e.nombre, e.ciudad.id, e.establecimiento, " +
+            "e.fecha, e.hora, e.capacidad, e.imagenUrl, e.precio) from Evento e where e.idEvento = :idEvento")
+    Optional<EventoDTO> proyectadoPorId(@Param("idEvento") Long idEvento);
+}
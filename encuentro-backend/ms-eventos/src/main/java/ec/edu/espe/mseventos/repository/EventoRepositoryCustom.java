@@ -0,0 +1,11 @@
+package ec.edu.espe.mseventos.repository;
+
+import ec.edu.espe.mseventos.dto.EventoDTO;
+import ec.edu.espe.mseventos.dto.FiltroEventosDTO;
+
+import java.util.List;
+
+public interface EventoRepositoryCustom {
+
+    List<EventoDTO> buscar(FiltroEventosDTO filtro, int limite);
+}
@@ -0,0 +1,63 @@
+package ec.edu.espe.mseventos.repository;
+
+import ec.edu.espe.mseventos.dto.EventoDTO;
+import ec.edu.espe.mseventos.dto.FiltroEventosDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Búsqueda con filtros opcionales y paginación keyset sobre (fecha, idEvento):
+// solo se agregan al WHERE los filtros presentes para que el planner use el índice que corresponda
+public class EventoRepositoryImpl implements EventoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<EventoDTO> buscar(FiltroEventosDTO filtro, int limite) {
+        StringBuilder jpql = new StringBuilder(
+                "select new ec.edu.espe.mseventos.dto.EventoDTO(e.idEvento, e.nombre, e.ciudad.id, e.establecimiento, " +
+                "e.fecha, e.hora, e.capacidad, e.imagenUrl, e.precio) from Evento e where 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (filtro.idCiudad() != null) {
+            jpql.append(" and e.ciudad.id = :idCiudad");
+            params.put("idCiudad", filtro.idCiudad());
+        }
+        if (filtro.establecimiento() != null && !filtro.establecimiento().isBlank()) {
+            jpql.append(" and e.establecimiento = :establecimiento");
+            params.put("establecimiento", filtro.establecimiento().trim());
+        }
+        if (filtro.desde() != null) {
+            jpql.append(" and e.fecha >= :desde");
+            params.put("desde", filtro.desde());
+        }
+        if (filtro.hasta() != null) {
+            jpql.append(" and e.fecha <= :hasta");
+            params.put("hasta", filtro.hasta());
+        }
+        if (filtro.precioMin() != null) {
+            jpql.append(" and e.precio >= :precioMin");
+            params.put("precioMin", filtro.precioMin());
+        }
+        if (filtro.precioMax() != null) {
+            jpql.append(" and e.precio <= :precioMax");
+            params.put("precioMax", filtro.precioMax());
+        }
+        if (filtro.despuesFecha() != null && filtro.despuesId() != null) {
+            // El "fecha >= " redundante deja que el índice acote el rango antes del OR
+            jpql.append(" and e.fecha >= :despuesFecha and (e.fecha > :despuesFecha or e.idEvento > :despuesId)");
+            params.put("despuesFecha", filtro.despuesFecha());
+            params.put("despuesId", filtro.despuesId());
+        }
+        jpql.append(" order by e.fecha, e.idEvento");
+
+        TypedQuery<EventoDTO> query = em.createQuery(jpql.toString(), EventoDTO.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limite).getResultList();
+    }
+}
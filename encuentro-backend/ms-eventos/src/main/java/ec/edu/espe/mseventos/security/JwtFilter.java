@@ -1,6 +1,7 @@
 package ec.edu.espe.mseventos.security;
 
 import ec.edu.espe.mseventos.utils.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -25,10 +26,12 @@ import java.util.List;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final IdentidadGateway identidadGateway;
 
     @Autowired
-    public JwtFilter(JwtService jwtService) {
+    public JwtFilter(JwtService jwtService, IdentidadGateway identidadGateway) {
         this.jwtService = jwtService;
+        this.identidadGateway = identidadGateway;
     }
 
     @Override
@@ -55,6 +58,20 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Camino rápido: identidad ya verificada y firmada por el gateway, sin JWT que parsear
+        IdentidadGateway.Identidad identidad = identidadGateway.leer(request);
+        if (identidad != null) {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                String granted = identidad.rol().startsWith("ROLE_") ? identidad.rol() : "ROLE_" + identidad.rol();
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        identidad.sujeto(), null, Collections.singletonList(new SimpleGrantedAuthority(granted)));
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
         // Extrae token (Header o Cookie)
         String authHeader = request.getHeader("Authorization");
         String token = null;
@@ -71,9 +88,11 @@ public class JwtFilter extends OncePerRequestFilter {
         }
 
         // 👉 Si NO hay token, no forzamos 401 aquí. Dejamos que Spring Security decida.
-        if (token != null && jwtService.isTokenValid(token)) {
-            String username = jwtService.extractUsername(token);
-            String role = jwtService.extractClaim(token, claims -> claims.get("role", String.class));
+        // Una sola verificación por petición (con caché de tokens ya verificados)
+        Claims claims = token != null ? jwtService.verificar(token) : null;
+        if (claims != null) {
+            String username = claims.getSubject();
+            String role = claims.get("role", String.class);
 
             if (username != null && role != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 // Asegurar prefijo ROLE_
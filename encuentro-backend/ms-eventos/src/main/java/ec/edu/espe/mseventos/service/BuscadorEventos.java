@@ -0,0 +1,319 @@
+package ec.edu.espe.mseventos.service;
+
+import ec.edu.espe.mseventos.dto.BusquedaEventosDTO;
+import ec.edu.espe.mseventos.dto.EventoDTO;
+import ec.edu.espe.mseventos.dto.FacetaDTO;
+import ec.edu.espe.mseventos.model.Ciudad;
+import ec.edu.espe.mseventos.repository.CiudadRepository;
+import ec.edu.espe.mseventos.repository.EventoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+// Índice invertido en memoria sobre nombre, establecimiento y ciudad de los eventos.
+// Se carga al iniciar y se actualiza desde EventoService/CiudadService al confirmar cada transacción;
+// los cambios hechos en otras instancias llegan por CatalogoCambiosListener (sincronizar*).
+// Cada término de la consulta acepta coincidencia exacta, por prefijo o con un error de tipeo
+// (índice de borrados: término y sus variantes con una letra menos).
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BuscadorEventos {
+
+    private static final int PESO_NOMBRE = 3;
+    private static final int PESO_ESTABLECIMIENTO = 2;
+    private static final int PESO_CIUDAD = 1;
+    private static final int MAX_EXPANSION = 64;
+    private static final int MIN_PREFIJO = 2;
+    private static final int MIN_TOLERANCIA = 4;
+
+    private final EventoRepository eventoRepository;
+    private final CiudadRepository ciudadRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Integer>> terminos = new TreeMap<>();
+    private final Map<String, Set<String>> borrados = new HashMap<>();
+    private final Map<Long, String> ciudades = new HashMap<>();
+
+    private record Documento(EventoDTO evento, Map<String, Integer> pesos) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        Map<Long, String> nombres = ciudadRepository.findAll().stream()
+                .collect(Collectors.toMap(Ciudad::getId, Ciudad::getNombre));
+        List<EventoDTO> eventos = eventoRepository.listarProyectado();
+        lock.writeLock().lock();
+        try {
+            nombres.forEach(ciudades::putIfAbsent);
+            // Lo que ya sincronizó un mensaje mientras se leía la BD es más reciente
+            eventos.stream().filter(e -> !documentos.containsKey(e.getIdEvento())).forEach(this::agregar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de búsqueda cargado: {} eventos, {} términos", documentos.size(), terminos.size());
+    }
+
+    public void indexarAlConfirmar(EventoDTO evento, String ciudad) {
+        alConfirmar(() -> {
+            lock.writeLock().lock();
+            try {
+                ciudades.put(evento.getIdCiudad(), ciudad);
+                quitar(evento.getIdEvento());
+                agregar(evento);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void eliminarAlConfirmar(Long idEvento) {
+        alConfirmar(() -> {
+            lock.writeLock().lock();
+            try {
+                quitar(idEvento);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void renombrarCiudadAlConfirmar(Long idCiudad, String nombre) {
+        alConfirmar(() -> renombrarCiudad(idCiudad, nombre));
+    }
+
+    // Cambio de nombre de una ciudad: se reindexan solo sus eventos
+    private void renombrarCiudad(Long idCiudad, String nombre) {
+        lock.writeLock().lock();
+        try {
+            ciudades.put(idCiudad, nombre);
+            List<EventoDTO> afectados = documentos.values().stream()
+                    .map(Documento::evento)
+                    .filter(e -> idCiudad.equals(e.getIdCiudad()))
+                    .toList();
+            for (EventoDTO e : afectados) {
+                quitar(e.getIdEvento());
+                agregar(e);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Relee el evento de la BD (el mensaje puede llegar fuera de orden): si ya no existe se quita
+    public void sincronizar(Long idEvento) {
+        Optional<EventoDTO> evento = eventoRepository.proyectadoPorId(idEvento);
+        String ciudad = evento.flatMap(e -> ciudadRepository.findById(e.getIdCiudad())).map(Ciudad::getNombre).orElse(null);
+        lock.writeLock().lock();
+        try {
+            quitar(idEvento);
+            evento.ifPresent(e -> {
+                ciudades.put(e.getIdCiudad(), ciudad);
+                agregar(e);
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void sincronizarCiudad(Long idCiudad) {
+        Optional<Ciudad> ciudad = ciudadRepository.findById(idCiudad);
+        if (ciudad.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                ciudades.remove(idCiudad);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        renombrarCiudad(idCiudad, ciudad.get().getNombre());
+    }
+
+    public BusquedaEventosDTO buscar(String texto, Long idCiudad, LocalDate desde, LocalDate hasta, int limite) {
+        List<String> consulta = tokenizar(texto);
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> puntajes = consulta.isEmpty() ? todos() : coincidencias(consulta);
+
+            List<EventoDTO> resultados = new ArrayList<>();
+            Map<Long, Integer> porCiudad = new HashMap<>();
+            Map<String, Integer> porMes = new TreeMap<>();
+            for (Long id : puntajes.keySet()) {
+                EventoDTO e = documentos.get(id).evento();
+                if (idCiudad != null && !idCiudad.equals(e.getIdCiudad())) continue;
+                if (desde != null && e.getFecha().isBefore(desde)) continue;
+                if (hasta != null && e.getFecha().isAfter(hasta)) continue;
+                resultados.add(e);
+                porCiudad.merge(e.getIdCiudad(), 1, Integer::sum);
+                porMes.merge(e.getFecha().toString().substring(0, 7), 1, Integer::sum);
+            }
+
+            resultados.sort(Comparator.<EventoDTO>comparingInt(e -> -puntajes.get(e.getIdEvento()))
+                    .thenComparing(EventoDTO::getFecha)
+                    .thenComparing(EventoDTO::getIdEvento));
+
+            List<FacetaDTO> facetasCiudad = porCiudad.entrySet().stream()
+                    .map(f -> new FacetaDTO(String.valueOf(f.getKey()), ciudades.get(f.getKey()), f.getValue()))
+                    .sorted(Comparator.comparingInt(FacetaDTO::cantidad).reversed())
+                    .toList();
+            List<FacetaDTO> facetasMes = porMes.entrySet().stream()
+                    .map(f -> new FacetaDTO(f.getKey(), f.getKey(), f.getValue()))
+                    .toList();
+
+            List<EventoDTO> pagina = resultados.subList(0, Math.min(limite, resultados.size()));
+            return new BusquedaEventosDTO(new ArrayList<>(pagina), resultados.size(), facetasCiudad, facetasMes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Intersección de los documentos de cada término; el puntaje suma el mejor tipo de coincidencia por término
+    private Map<Long, Integer> coincidencias(List<String> consulta) {
+        Map<Long, Integer> acumulado = null;
+        for (String q : consulta) {
+            Map<Long, Integer> actual = new HashMap<>();
+            sumar(actual, terminos.get(q), 3);
+            if (q.length() >= MIN_PREFIJO) {
+                int expandidos = 0;
+                for (Map.Entry<String, Map<Long, Integer>> t
+                        : terminos.subMap(q, false, q + Character.MAX_VALUE, false).entrySet()) {
+                    if (++expandidos > MAX_EXPANSION) break;
+                    sumar(actual, t.getValue(), 2);
+                }
+            }
+            if (q.length() >= MIN_TOLERANCIA) {
+                for (String t : parecidos(q)) {
+                    sumar(actual, terminos.get(t), 1);
+                }
+            }
+
+            if (acumulado == null) {
+                acumulado = actual;
+            } else {
+                acumulado.keySet().retainAll(actual.keySet());
+                acumulado.replaceAll((id, p) -> p + actual.get(id));
+            }
+            if (acumulado.isEmpty()) break;
+        }
+        return acumulado;
+    }
+
+    private Map<Long, Integer> todos() {
+        Map<Long, Integer> todos = new HashMap<>();
+        documentos.keySet().forEach(id -> todos.put(id, 0));
+        return todos;
+    }
+
+    private static void sumar(Map<Long, Integer> destino, Map<Long, Integer> postings, int factor) {
+        if (postings == null) return;
+        postings.forEach((id, peso) -> destino.merge(id, peso * factor, Math::max));
+    }
+
+    // Términos del índice a distancia 1 (inserción, borrado, sustitución o transposición)
+    private Set<String> parecidos(String q) {
+        Set<String> candidatos = new HashSet<>();
+        for (String clave : variantes(q)) {
+            Set<String> ts = borrados.get(clave);
+            if (ts != null) candidatos.addAll(ts);
+        }
+        candidatos.removeIf(t -> t.equals(q) || !distanciaUno(q, t));
+        return candidatos;
+    }
+
+    private void agregar(EventoDTO evento) {
+        Map<String, Integer> pesos = new HashMap<>();
+        tokenizar(evento.getNombre()).forEach(t -> pesos.merge(t, PESO_NOMBRE, Math::max));
+        tokenizar(evento.getEstablecimiento()).forEach(t -> pesos.merge(t, PESO_ESTABLECIMIENTO, Math::max));
+        tokenizar(ciudades.get(evento.getIdCiudad())).forEach(t -> pesos.merge(t, PESO_CIUDAD, Math::max));
+
+        documentos.put(evento.getIdEvento(), new Documento(evento, pesos));
+        pesos.forEach((t, peso) -> {
+            Map<Long, Integer> postings = terminos.get(t);
+            if (postings == null) {
+                postings = new HashMap<>();
+                terminos.put(t, postings);
+                for (String v : variantes(t)) borrados.computeIfAbsent(v, k -> new HashSet<>()).add(t);
+            }
+            postings.put(evento.getIdEvento(), peso);
+        });
+    }
+
+    private void quitar(Long idEvento) {
+        Documento doc = documentos.remove(idEvento);
+        if (doc == null) return;
+        for (String t : doc.pesos().keySet()) {
+            Map<Long, Integer> postings = terminos.get(t);
+            if (postings == null) continue;
+            postings.remove(idEvento);
+            if (postings.isEmpty()) {
+                terminos.remove(t);
+                for (String v : variantes(t)) {
+                    Set<String> ts = borrados.get(v);
+                    if (ts != null && ts.remove(t) && ts.isEmpty()) borrados.remove(v);
+                }
+            }
+        }
+    }
+
+    private static void alConfirmar(Runnable accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                accion.run();
+            }
+        });
+    }
+
+    // Minúsculas y sin tildes, separado por cualquier caracter que no sea letra o dígito
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) return List.of();
+        String normalizado = Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "");
+        List<String> tokens = new ArrayList<>();
+        for (String t : normalizado.split("[^\\p{L}\\p{N}]+")) {
+            if (!t.isEmpty() && !tokens.contains(t)) tokens.add(t);
+        }
+        return tokens;
+    }
+
+    private static List<String> variantes(String t) {
+        List<String> vs = new ArrayList<>(t.length() + 1);
+        vs.add(t);
+        if (t.length() < MIN_TOLERANCIA) return vs;
+        for (int i = 0; i < t.length(); i++) {
+            vs.add(t.substring(0, i) + t.substring(i + 1));
+        }
+        return vs;
+    }
+
+    static boolean distanciaUno(String a, String b) {
+        int la = a.length(), lb = b.length();
+        if (Math.abs(la - lb) > 1) return false;
+        int i = 0;
+        while (i < Math.min(la, lb) && a.charAt(i) == b.charAt(i)) i++;
+        if (la == lb) {
+            if (i == la) return true;
+            // Sustitución o transposición de letras vecinas
+            if (a.substring(i + 1).equals(b.substring(i + 1))) return true;
+            return i + 1 < la && a.charAt(i) == b.charAt(i + 1) && a.charAt(i + 1) == b.charAt(i)
+                    && a.substring(i + 2).equals(b.substring(i + 2));
+        }
+        return la > lb ? a.substring(i + 1).equals(b.substring(i)) : b.substring(i + 1).equals(a.substring(i));
+    }
+}
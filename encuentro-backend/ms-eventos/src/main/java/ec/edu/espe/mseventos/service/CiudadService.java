@@ -1,5 +1,8 @@
 package ec.edu.espe.mseventos.service;
 
+import ec.edu.espe.mseventos.cache.CatalogoCache;
+import ec.edu.espe.mseventos.config.RabbitMQConfig;
+import ec.edu.espe.mseventos.dto.CiudadColaDTO;
 import ec.edu.espe.mseventos.dto.CiudadDTO;
 import ec.edu.espe.mseventos.dto.NotificacionesDTO;
 import ec.edu.espe.mseventos.model.Ciudad;
@@ -8,6 +11,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,12 +24,21 @@ public class CiudadService {
     private final CiudadRepository ciudadRepository;
     @Autowired
     NotificacionProducer notificacionProducer;
+    @Autowired
+    BuscadorEventos buscador;
+    @Autowired
+    CatalogoCache cache;
+    @Autowired
+    OutboxPublisher outbox;
 
+    @Transactional
     public CiudadDTO crearCiudad(CiudadDTO dto) {
         Ciudad ciudad = new Ciudad();
         ciudad.setNombre(dto.getNombre());
 
         Ciudad guardada = ciudadRepository.save(ciudad);
+        cache.ciudadesModificadas();
+        avisarCambio(guardada.getId(), "CREAR");
 
         log.info("Ciudad "+guardada.getNombre()+" creada correctamente");
         NotificacionesDTO notificacionesDTO = new NotificacionesDTO();
@@ -36,9 +49,9 @@ public class CiudadService {
     }
 
     public List<CiudadDTO> listarCiudades() {
-        return ciudadRepository.findAll().stream()
+        return cache.ciudades(() -> ciudadRepository.findAll().stream()
                 .map(this::mapToDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     public CiudadDTO ciudadPorId(Long id) {
@@ -51,6 +64,8 @@ public class CiudadService {
         Ciudad ciudad = ciudadRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("No existe ciudad con ID: " + id));
         ciudadRepository.delete(ciudad);
+        cache.ciudadesModificadas();
+        avisarCambio(id, "ELIMINAR");
         log.info("Ciudad "+ciudad.getNombre()+" eliminado correctamente");
         NotificacionesDTO notificacionesDTO = new NotificacionesDTO();
         notificacionesDTO.setMensaje(ciudad.getNombre()+" eliminado");
@@ -58,12 +73,16 @@ public class CiudadService {
         return "Ciudad eliminada correctamente";
     }
 
+    @Transactional
     public CiudadDTO actualizarCiudad(Long id, CiudadDTO dto) {
         Ciudad ciudad = ciudadRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("No existe ciudad con ID: " + id));
         ciudad.setNombre(dto.getNombre());
 
         Ciudad actualizada = ciudadRepository.save(ciudad);
+        buscador.renombrarCiudadAlConfirmar(actualizada.getId(), actualizada.getNombre());
+        cache.ciudadesModificadas();
+        avisarCambio(actualizada.getId(), "ACTUALIZAR");
         log.info("Ciudad "+actualizada.getNombre()+" actualizada correctamente");
         NotificacionesDTO notificacionesDTO = new NotificacionesDTO();
         notificacionesDTO.setMensaje(dto.getNombre()+" actualizado");
@@ -72,6 +91,11 @@ public class CiudadService {
         return mapToDTO(actualizada);
     }
 
+    // Por el outbox: las demás instancias lo reciben solo si la transacción se confirma
+    private void avisarCambio(Long idCiudad, String operacion) {
+        outbox.publicar(RabbitMQConfig.EXCHANGE_CIUDADES, "", new CiudadColaDTO(idCiudad, operacion));
+    }
+
     private CiudadDTO mapToDTO(Ciudad ciudad) {
         CiudadDTO dto = new CiudadDTO();
         dto.setId(ciudad.getId());
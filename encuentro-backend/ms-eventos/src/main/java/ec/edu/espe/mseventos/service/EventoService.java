@@ -1,8 +1,12 @@
 package ec.edu.espe.mseventos.service;
 
+import ec.edu.espe.mseventos.cache.CatalogoCache;
+import ec.edu.espe.mseventos.dto.BusquedaEventosDTO;
 import ec.edu.espe.mseventos.dto.EventoColaDTO;
 import ec.edu.espe.mseventos.dto.EventoDTO;
+import ec.edu.espe.mseventos.dto.FiltroEventosDTO;
 import ec.edu.espe.mseventos.dto.NotificacionesDTO;
+import ec.edu.espe.mseventos.dto.PaginaEventosDTO;
 import ec.edu.espe.mseventos.model.Ciudad;
 import ec.edu.espe.mseventos.model.Evento;
 import ec.edu.espe.mseventos.repository.CiudadRepository;
@@ -14,14 +18,17 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EventoService {
 
+    private static final int LIMITE_MAXIMO = 100;
+
     private final EventoRepository eventoRepository;
     private final CiudadRepository ciudadRepository;
 
@@ -31,6 +38,12 @@ public class EventoService {
     @Autowired
     NotificacionProducer notificacionProducer;
 
+    @Autowired
+    BuscadorEventos buscador;
+
+    @Autowired
+    CatalogoCache cache;
+
 
     @Transactional
     public EventoDTO crearEvento(EventoDTO dto) {
@@ -50,11 +63,7 @@ public class EventoService {
         Evento guardado = eventoRepository.save(evento);
 
         // Publicar evento para envío asíncrono después de confirmar transacción
-        EventoColaDTO eventoColaDTO = new EventoColaDTO(
-                guardado.getIdEvento(),
-                guardado.getCapacidad(),
-                "CREAR"
-        );
+        EventoColaDTO eventoColaDTO = mensajeCola(guardado, "CREAR");
 
         eventoProductor.enviarEvento(eventoColaDTO);
         log.info("Evento creado");
@@ -62,26 +71,59 @@ public class EventoService {
         notificacionesDTO.setMensaje(dto.getNombre()+" creado");
         notificacionesDTO.setTipo("EVENTO");
         notificacionProducer.enviarNotificacion(notificacionesDTO);
-        return mapToDTO(guardado);
+        EventoDTO creado = mapToDTO(guardado);
+        buscador.indexarAlConfirmar(creado, ciudad.getNombre());
+        cache.eventoModificado(creado.getIdEvento());
+        return creado;
     }
 
     public List<EventoDTO> listarEventos() {
-        return eventoRepository.findAll().stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return cache.listado(eventoRepository::listarProyectado);
     }
 
     public EventoDTO eventoPorId(Long id) {
-        Evento evento = eventoRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("No existe evento con ID: " + id));
-        return mapToDTO(evento);
+        return cache.evento(id, () -> eventoRepository.findById(id)
+                .map(this::mapToDTO)
+                .orElseThrow(() -> new RuntimeException("No existe evento con ID: " + id)));
     }
 
     public List<EventoDTO> eventosPorCiudad(Long idCiudad) {
-        return eventoRepository.findAll().stream()
-                .filter(e -> e.getCiudad().getId().equals(idCiudad))
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+        return cache.eventosDeCiudad(idCiudad, () -> eventoRepository.listarPorCiudad(idCiudad));
+    }
+
+    // Página de eventos ordenada por (fecha, id); el cursor "fecha_id" viene de la página anterior
+    @Transactional(readOnly = true)
+    public PaginaEventosDTO buscarEventos(Long idCiudad, LocalDate desde, LocalDate hasta,
+                                          BigDecimal precioMin, BigDecimal precioMax,
+                                          String establecimiento, String despues, int limite) {
+        int tope = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        LocalDate despuesFecha = null;
+        Long despuesId = null;
+        if (despues != null && !despues.isBlank()) {
+            String[] partes = despues.split("_", 2);
+            try {
+                despuesFecha = LocalDate.parse(partes[0]);
+                despuesId = Long.parseLong(partes[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor inválido: " + despues);
+            }
+        }
+
+        FiltroEventosDTO filtro = new FiltroEventosDTO(idCiudad, desde, hasta, precioMin, precioMax,
+                establecimiento, despuesFecha, despuesId);
+        List<EventoDTO> eventos = eventoRepository.buscar(filtro, tope + 1);
+
+        String siguiente = null;
+        if (eventos.size() > tope) {
+            eventos = eventos.subList(0, tope);
+            EventoDTO ultimo = eventos.get(tope - 1);
+            siguiente = ultimo.getFecha() + "_" + ultimo.getIdEvento();
+        }
+        return new PaginaEventosDTO(eventos, siguiente);
+    }
+
+    public BusquedaEventosDTO buscarTexto(String q, Long idCiudad, LocalDate desde, LocalDate hasta, int limite) {
+        return buscador.buscar(q, idCiudad, desde, hasta, Math.max(1, Math.min(limite, LIMITE_MAXIMO)));
     }
 
     @Transactional
@@ -93,11 +135,7 @@ public class EventoService {
         Ciudad ciudad = evento.getCiudad();
 
         // Publicar evento para envío asíncrono después de confirmar transacción
-        EventoColaDTO eventoColaDTO = new EventoColaDTO(
-                evento.getIdEvento(),
-                evento.getCapacidad(),
-                "ELIMINAR"
-        );
+        EventoColaDTO eventoColaDTO = mensajeCola(evento, "ELIMINAR");
         eventoProductor.enviarEvento(eventoColaDTO);
 
         log.info("Evento eliminado");
@@ -107,6 +145,8 @@ public class EventoService {
         notificacionProducer.enviarNotificacion(notificacionesDTO);
         // Luego eliminamos
         eventoRepository.delete(evento);
+        buscador.eliminarAlConfirmar(id);
+        cache.eventoModificado(id);
 
         return "Evento eliminado correctamente";
     }
@@ -133,11 +173,7 @@ public class EventoService {
         Evento actualizado = eventoRepository.save(evento);
 
         // Publicar evento para envío asíncrono después de confirmar transacción
-        EventoColaDTO eventoColaDTO = new EventoColaDTO(
-                actualizado.getIdEvento(),
-                actualizado.getCapacidad(),
-                "ACTUALIZAR"
-        );
+        EventoColaDTO eventoColaDTO = mensajeCola(actualizado, "ACTUALIZAR");
         eventoProductor.enviarEvento(eventoColaDTO);
         log.info("Evento actualizado correctamente");
         NotificacionesDTO  notificacionesDTO = new NotificacionesDTO();
@@ -145,10 +181,29 @@ public class EventoService {
         notificacionesDTO.setTipo("EVENTO");
         notificacionProducer.enviarNotificacion(notificacionesDTO);
 
-        return mapToDTO(actualizado);
+        EventoDTO resultado = mapToDTO(actualizado);
+        buscador.indexarAlConfirmar(resultado, ciudad.getNombre());
+        cache.eventoModificado(id);
+        return resultado;
     }
 
 
+    // Datos de catálogo completos: tickets arma con ellos la tarjeta del evento sin llamar a este servicio
+    private EventoColaDTO mensajeCola(Evento evento, String operacion) {
+        EventoColaDTO msg = new EventoColaDTO();
+        msg.setIdEvento(evento.getIdEvento());
+        msg.setCapacidad(evento.getCapacidad());
+        msg.setOperacion(operacion);
+        msg.setNombre(evento.getNombre());
+        msg.setIdCiudad(evento.getCiudad().getId());
+        msg.setCiudad(evento.getCiudad().getNombre());
+        msg.setEstablecimiento(evento.getEstablecimiento());
+        msg.setFecha(evento.getFecha());
+        msg.setHora(evento.getHora());
+        msg.setPrecio(evento.getPrecio());
+        return msg;
+    }
+
     private EventoDTO mapToDTO(Evento evento) {
         EventoDTO dto = new EventoDTO();
         dto.setIdEvento(evento.getIdEvento());
@@ -0,0 +1,33 @@
+package ec.edu.espe.mseventos.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.edu.espe.mseventos.model.OutboxMensaje;
+import ec.edu.espe.mseventos.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+// Encola un mensaje en la tabla outbox (dentro de la transacción en curso, si la hay);
+// OutboxRelay lo publica en RabbitMQ después del commit
+@Service
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void publicar(String cola, Object mensaje) {
+        publicar("", cola, mensaje);
+    }
+
+    public void publicar(String exchange, String routingKey, Object mensaje) {
+        try {
+            outboxRepository.save(new OutboxMensaje(null, exchange, routingKey,
+                    objectMapper.writeValueAsString(mensaje), Instant.now(), null));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el mensaje para " + routingKey, e);
+        }
+    }
+}
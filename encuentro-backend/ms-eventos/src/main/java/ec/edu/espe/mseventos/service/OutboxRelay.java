@@ -0,0 +1,57 @@
+package ec.edu.espe.mseventos.service;
+
+import ec.edu.espe.mseventos.model.OutboxMensaje;
+import ec.edu.espe.mseventos.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Publica el outbox en lotes con publisher confirms; solo borra lo que el broker confirmó
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final int LOTE = 100;
+    private static final long TIMEOUT_CONFIRM_MS = 5000;
+    // Mayor que la espera de confirmaciones: el lote no se retoma mientras se publica
+    private static final Duration RECLAMO = Duration.ofSeconds(30);
+
+    private final OutboxRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Tres pasos cortos: reclamar (commit), publicar sin transacción ni filas bloqueadas y borrar
+    // lo confirmado. Si el broker no confirma se libera el reclamo para el próximo ciclo.
+    @Scheduled(fixedDelayString = "${outbox.relay-ms:200}")
+    public void publicarPendientes() {
+        Instant ahora = Instant.now();
+        List<OutboxMensaje> pendientes = transactionTemplate.execute(
+                status -> outboxRepository.reclamarPendientes(LOTE, ahora, ahora.plus(RECLAMO)));
+        if (pendientes == null || pendientes.isEmpty()) return;
+        List<Long> ids = pendientes.stream().map(OutboxMensaje::getId).toList();
+
+        try {
+            rabbitTemplate.invoke(ops -> {
+                for (OutboxMensaje m : pendientes) {
+                    ops.convertAndSend(m.getExchange() != null ? m.getExchange() : "", m.getCola(), m.getPayload());
+                }
+                ops.waitForConfirmsOrDie(TIMEOUT_CONFIRM_MS);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("El broker no confirmó {} mensajes del outbox, se reintentará: {}", pendientes.size(), e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.liberar(ids));
+            return;
+        }
+        outboxRepository.deleteAllByIdInBatch(ids);
+        log.debug("Mensajes del outbox publicados: {}", pendientes.size());
+    }
+}
@@ -1,8 +1,8 @@
 package ec.edu.espe.mseventos.utils;
 
-
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -10,7 +10,13 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 
 @Slf4j
@@ -20,26 +26,57 @@ public class JwtService {
 
     private final long EXPIRATION = 1000 * 60 * 60; // 1 hora
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-    }
+    private static final int MAX_TOKENS_EN_CACHE = 10_000;
 
+    // La clave y el parser se construyen una sola vez
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // LRU hash(token) -> claims ya verificados; cada entrada vale hasta el exp del token
+    private final Map<String, Claims> verificados = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Claims> eldest) {
+            return size() > MAX_TOKENS_EN_CACHE;
+        }
+    };
+
+    // Verifica el token una sola vez por petición: claims si es válido, null si no.
+    // Un token ya visto y no expirado se resuelve desde la caché sin recalcular la firma
+    public Claims verificar(String token) {
+        try {
+            return extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
 
     public String extractRole(String token) {
         return extractAllClaims(token).get("role", String.class);
     }
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String clave = hash(token);
+        long ahora = System.currentTimeMillis();
+        synchronized (verificados) {
+            Claims claims = verificados.get(clave);
+            if (claims != null) {
+                if (claims.getExpiration().getTime() > ahora) return claims;
+                verificados.remove(clave);
+            }
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            synchronized (verificados) {
+                verificados.put(clave, claims);
+            }
+        }
+        return claims;
     }
 
     public UserDetails extractUserDetails(String token) {
-        String username = extractUsername(token);
-        String role = extractRole(token);
+        Claims claims = extractAllClaims(token);
+        String username = claims.getSubject();
+        String role = claims.get("role", String.class);
         log.info("username {} role {}", username, role);
 
         if (role == null || role.trim().isEmpty()) {
@@ -62,14 +99,15 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token) {
+        return verificar(token) != null;
+    }
+
+    private String hash(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (JwtException e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
@@ -0,0 +1,37 @@
+package ec.edu.espe.mseventos.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuscadorEventosTest {
+
+    @Test
+    void tokenizarNormalizaYSepara() {
+        assertEquals(List.of("concierto", "en", "quito", "2025"), BuscadorEventos.tokenizar("Concierto en QUITO - 2025"));
+        assertEquals(List.of("musica", "andina", "cafe"), BuscadorEventos.tokenizar("Música andina, Café"));
+        assertEquals(List.of("rock"), BuscadorEventos.tokenizar("rock Rock ROCK"));
+        assertEquals(List.of(), BuscadorEventos.tokenizar("  "));
+        assertEquals(List.of(), BuscadorEventos.tokenizar(null));
+    }
+
+    @Test
+    void distanciaUnoAceptaUnaEdicion() {
+        assertTrue(BuscadorEventos.distanciaUno("quito", "quito"));
+        assertTrue(BuscadorEventos.distanciaUno("quito", "qiuto"));   // transposición
+        assertTrue(BuscadorEventos.distanciaUno("quito", "quitu"));   // sustitución
+        assertTrue(BuscadorEventos.distanciaUno("quito", "quitos"));  // inserción
+        assertTrue(BuscadorEventos.distanciaUno("quito", "quto"));    // borrado
+        assertTrue(BuscadorEventos.distanciaUno("quito", "uito"));
+    }
+
+    @Test
+    void distanciaUnoRechazaDosEdiciones() {
+        assertFalse(BuscadorEventos.distanciaUno("quito", "qiutu"));
+        assertFalse(BuscadorEventos.distanciaUno("quito", "quitoss"));
+        assertFalse(BuscadorEventos.distanciaUno("quito", "qito2"));
+        assertFalse(BuscadorEventos.distanciaUno("quito", "iuqto"));
+    }
+}
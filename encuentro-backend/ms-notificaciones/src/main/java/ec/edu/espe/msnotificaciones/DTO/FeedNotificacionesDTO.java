@@ -0,0 +1,11 @@
+package ec.edu.espe.msnotificaciones.dto;
+
+import ec.edu.espe.msnotificaciones.entity.Notificacion;
+
+import java.util.List;
+
+// Página del feed; "siguiente" es el cursor para ?after= (null cuando no hay más)
+public record FeedNotificacionesDTO(
+        List<Notificacion> notificaciones,
+        Long siguiente
+) {}
@@ -0,0 +1,10 @@
+package ec.edu.espe.msnotificaciones.dto;
+
+import java.time.LocalDateTime;
+
+// Conteo de notificaciones de un tipo en una hora (notificacion_resumen_hora)
+public record ResumenNotificacionesDTO(
+        LocalDateTime hora,
+        String tipo,
+        long cantidad
+) {}
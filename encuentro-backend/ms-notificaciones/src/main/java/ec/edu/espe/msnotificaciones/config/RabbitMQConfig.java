@@ -1,15 +1,69 @@
 package ec.edu.espe.msnotificaciones.config;
 
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 
 @Configuration
 public class RabbitMQConfig {
+
+    public static final String EXCHANGE_STREAM = "notificaciones.stream.exchange";
+
     @Bean
     public Queue JwtCola(){
         return QueueBuilder.durable("notificaciones.cola").build();
     }
+
+    // Cada lote guardado se reenvía por este fanout: la instancia que consumió notificaciones.cola
+    // no es necesariamente la que tiene conectados a los suscriptores SSE
+    @Bean
+    public FanoutExchange notificacionesStreamExchange() {
+        return new FanoutExchange(EXCHANGE_STREAM);
+    }
+
+    // Cola propia de cada instancia (exclusiva, se borra al desconectarse)
+    @Bean
+    public Queue notificacionesStreamCola() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding notificacionesStreamBinding(Queue notificacionesStreamCola, FanoutExchange notificacionesStreamExchange) {
+        return BindingBuilder.bind(notificacionesStreamCola).to(notificacionesStreamExchange);
+    }
+
+    // Consumo por lotes: entrega hasta "lote" mensajes o lo acumulado tras "espera-ms".
+    // Con AUTO el lote se confirma cuando el listener retorna (después del commit)
+    @Bean
+    public SimpleRabbitListenerContainerFactory notificacionesBatchFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${notificaciones.consumo.lote:100}") int lote,
+            @Value("${notificaciones.consumo.espera-ms:200}") long esperaMs,
+            @Value("${notificaciones.consumo.prefetch:250}") int prefetch,
+            @Value("${notificaciones.consumo.concurrencia:1}") int concurrencia,
+            @Value("${notificaciones.consumo.max-concurrencia:4}") int maxConcurrencia) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(lote);
+        factory.setReceiveTimeout(esperaMs);
+        factory.setPrefetchCount(Math.max(prefetch, lote));
+        factory.setConcurrentConsumers(concurrencia);
+        factory.setMaxConcurrentConsumers(Math.max(concurrencia, maxConcurrencia));
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        return factory;
+    }
 }
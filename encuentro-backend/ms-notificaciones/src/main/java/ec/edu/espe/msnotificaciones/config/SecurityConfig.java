@@ -40,7 +40,7 @@ public class SecurityConfig {
                                 "/webjars/**",
                                 "/actuator/**"
                         ).permitAll()
-                        .requestMatchers("/api/notificaciones").hasRole("ADMINISTRADOR")
+                        .requestMatchers("/api/notificaciones", "/api/notificaciones/feed", "/api/notificaciones/resumen").hasRole("ADMINISTRADOR")
                         .anyRequest().authenticated()
                 ) .exceptionHandling(ex -> ex
                         .accessDeniedHandler(customAccessDeniedHandler)
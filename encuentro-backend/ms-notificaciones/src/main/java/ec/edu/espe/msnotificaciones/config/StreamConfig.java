@@ -0,0 +1,22 @@
+package ec.edu.espe.msnotificaciones.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class StreamConfig {
+
+    // Hilos que escriben a los suscriptores SSE: el listener de Rabbit y el heartbeat solo encolan,
+    // así un cliente lento no retrasa la entrega a los demás
+    @Bean(name = "sseExecutor")
+    public ThreadPoolTaskExecutor sseExecutor(@Value("${notificaciones.stream.hilos:4}") int hilos) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setThreadNamePrefix("Sse-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,19 +1,31 @@
 package ec.edu.espe.msnotificaciones.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.edu.espe.msnotificaciones.dto.FeedNotificacionesDTO;
 import ec.edu.espe.msnotificaciones.dto.NotificacionDTO;
+import ec.edu.espe.msnotificaciones.dto.ResumenNotificacionesDTO;
 import ec.edu.espe.msnotificaciones.dto.ResponseDto;
 import ec.edu.espe.msnotificaciones.entity.Notificacion;
 import ec.edu.espe.msnotificaciones.service.NotificacionService;
+import ec.edu.espe.msnotificaciones.service.NotificacionStream;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -21,11 +33,44 @@ import java.util.List;
 public class NotificacionesController {
     @Autowired
     private NotificacionService notificacionService;
+    @Autowired
+    private NotificacionStream notificacionStream;
+    @Autowired
+    private ObjectMapper mapper;
 
+    // Mismo formato que ResponseDto, pero las filas se escriben a medida que se leen
     @GetMapping
-    public ResponseEntity<ResponseDto> getNotificaciones(){
-        List<Notificacion> notificaciones = notificacionService.listarNotificaciones();
-        return ResponseEntity.ok(new ResponseDto("Notificaciones obtenidas exitosamente", notificaciones));
+    public ResponseEntity<StreamingResponseBody> getNotificaciones(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta){
+        StreamingResponseBody cuerpo = out -> {
+            try (JsonGenerator json = mapper.getFactory().createGenerator(out)) {
+                json.writeStartObject();
+                json.writeStringField("mensaje", "Notificaciones obtenidas exitosamente");
+                json.writeArrayFieldStart("respuesta");
+                notificacionService.recorrerNotificaciones(desde, hasta, n -> {
+                    try {
+                        json.writeObject(n);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<ResponseDto> getFeed(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta) {
+        FeedNotificacionesDTO feed = notificacionService.feed(after, limit, tipo, desde, hasta);
+        return ResponseEntity.ok(new ResponseDto("Notificaciones obtenidas exitosamente", feed));
     }
 
     @GetMapping("/ultimas")
@@ -34,6 +79,21 @@ public class NotificacionesController {
         return ResponseEntity.ok(new ResponseDto("Notificaciones obtenidas exitosamente", notificaciones));
     }
 
+    @GetMapping("/resumen")
+    public ResponseEntity<ResponseDto> getResumen(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+            @RequestParam(required = false) String tipo) {
+        List<ResumenNotificacionesDTO> resumen = notificacionService.resumenPorHora(desde, hasta, tipo);
+        return ResponseEntity.ok(new ResponseDto("Resumen de notificaciones obtenido exitosamente", resumen));
+    }
+
+    // Push en vivo; al reconectar el navegador envía Last-Event-ID y solo recibe lo que falta
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificacionStream.suscribir(lastEventId);
+    }
+
     @GetMapping("/paginadas")
     public ResponseEntity<ResponseDto> getNotificacionesPaginadas(
             @RequestParam(defaultValue = "0") int page,
@@ -6,11 +6,14 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_notificacion_tipo_id", columnList = "tipo, id"))
 @Data
 public class Notificacion {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    // Clave de partición (tabla particionada por día, ver schema.sql)
+    @Column(nullable = false)
     private LocalDateTime fecha;
     private String tipo;
     private String mensaje;
@@ -3,25 +3,48 @@ package ec.edu.espe.msnotificaciones.listeners;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ec.edu.espe.msnotificaciones.DTO.NotificacionesDTO;
+import ec.edu.espe.msnotificaciones.config.RabbitMQConfig;
+import ec.edu.espe.msnotificaciones.entity.Notificacion;
 import ec.edu.espe.msnotificaciones.service.NotificacionService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 @Component
 public class NotificacionListener {
     @Autowired
     private NotificacionService notificacionService;
     @Autowired
+    private RabbitTemplate rabbitTemplate;
+    @Autowired
     private ObjectMapper mapper;
 
-    @RabbitListener(queues = "notificaciones.cola")
-    public void recibitMensajes(String mensaje) {
-        try{
-            NotificacionesDTO dto = mapper.readValue(mensaje,NotificacionesDTO.class);
-            notificacionService.guardarNotificacion(dto);
-        }catch (Exception e){
-            e.printStackTrace();
+    // Un lote por llamada: si el insert falla la excepción sube y el lote vuelve a la cola
+    @RabbitListener(queues = "notificaciones.cola", containerFactory = "notificacionesBatchFactory")
+    public void recibitMensajes(List<String> mensajes) {
+        List<NotificacionesDTO> lote = new ArrayList<>(mensajes.size());
+        for (String mensaje : mensajes) {
+            try {
+                lote.add(mapper.readValue(mensaje, NotificacionesDTO.class));
+            } catch (Exception e) {
+                // Un mensaje mal formado no debe bloquear al resto del lote
+                log.warn("Notificación descartada, no se pudo leer: {}", mensaje);
+            }
+        }
+        if (lote.isEmpty()) return;
+        // Se difunden después del commit (guardarNotificaciones ya retornó) a todas las instancias.
+        // Si el envío falla no se reintenta el lote: los clientes lo recuperan con Last-Event-ID
+        List<Notificacion> guardadas = notificacionService.guardarNotificaciones(lote);
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.EXCHANGE_STREAM, "", mapper.writeValueAsString(guardadas));
+        } catch (Exception e) {
+            log.warn("No se pudo difundir el lote de {} notificaciones: {}", guardadas.size(), e.getMessage());
         }
     }
 }
@@ -0,0 +1,31 @@
+package ec.edu.espe.msnotificaciones.listeners;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.edu.espe.msnotificaciones.entity.Notificacion;
+import ec.edu.espe.msnotificaciones.service.NotificacionStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Lotes guardados por cualquier instancia (notificaciones.stream.exchange) hacia los suscriptores SSE locales
+@Slf4j
+@Component
+public class NotificacionStreamListener {
+    @Autowired
+    private NotificacionStream notificacionStream;
+    @Autowired
+    private ObjectMapper mapper;
+
+    @RabbitListener(queues = "#{notificacionesStreamCola.name}")
+    public void recibirLote(String mensaje) {
+        try {
+            notificacionStream.publicar(mapper.readValue(mensaje, new TypeReference<List<Notificacion>>() {}));
+        } catch (Exception e) {
+            log.warn("Lote del stream descartado, no se pudo leer: {}", e.getMessage());
+        }
+    }
+}
@@ -5,12 +5,23 @@ import ec.edu.espe.msnotificaciones.entity.Notificacion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface NotificacionesRepository extends JpaRepository<Notificacion, Long> {
     
-    List<Notificacion> findTop10ByOrderByIdDesc();
+    // Carga inicial del buffer del stream (mismo tamaño que NotificacionStream.CAPACIDAD)
+    List<Notificacion> findTop500ByOrderByIdDesc();
+
+    // Backfill del stream: lo posterior a ultimoId más lo guardado en la misma ventana de fecha,
+    // porque los lotes pueden confirmarse fuera de orden de id (el cliente descarta ids repetidos)
+    @Query(value = "select * from notificacion where id > :ultimoId or fecha >= " +
+            "(select max(fecha) from notificacion where id = :ultimoId) - make_interval(secs => :ventanaSeg) " +
+            "order by id limit :limite", nativeQuery = true)
+    List<Notificacion> posterioresA(@Param("ultimoId") long ultimoId, @Param("ventanaSeg") int ventanaSeg,
+                                    @Param("limite") int limite);
     
     Page<Notificacion> findAllByOrderByIdDesc(Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package ec.edu.espe.msnotificaciones.security;
 
 import ec.edu.espe.msnotificaciones.utils.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -25,10 +26,12 @@ import java.util.List;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final IdentidadGateway identidadGateway;
 
     @Autowired
-    public JwtFilter(JwtService jwtService) {
+    public JwtFilter(JwtService jwtService, IdentidadGateway identidadGateway) {
         this.jwtService = jwtService;
+        this.identidadGateway = identidadGateway;
     }
 
     @Override
@@ -57,6 +60,19 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
+        // Camino rápido: identidad ya verificada y firmada por el gateway, sin JWT que parsear
+        IdentidadGateway.Identidad identidad = identidadGateway.leer(request);
+        if (identidad != null) {
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        identidad.sujeto(), null, Collections.singletonList(new SimpleGrantedAuthority(identidad.rol())));
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         // Buscar token en header o cookie
         String token = extractToken(request);
 
@@ -71,7 +87,9 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (!jwtService.isTokenValid(token)) {
+        // Una sola verificación por petición (con caché de tokens ya verificados)
+        Claims claims = jwtService.verificar(token);
+        if (claims == null) {
             log.warn("Token inválido para la ruta: {}", path);
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
@@ -81,8 +99,8 @@ public class JwtFilter extends OncePerRequestFilter {
 
         try {
             // Extraer datos del token
-            String username = jwtService.extractUsername(token);
-            String role = jwtService.extractClaim(token, claims -> claims.get("role", String.class));
+            String username = claims.getSubject();
+            String role = claims.get("role", String.class);
 
             log.debug("Username extraído: {}", username);
             log.debug("Role extraído: {}", role);
@@ -0,0 +1,117 @@
+package ec.edu.espe.msnotificaciones.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Mantenimiento de la tabla particionada: crea las particiones de los próximos días,
+// acumula los conteos por hora/tipo y borra particiones completas al vencer la retención
+@Slf4j
+@Service
+public class NotificacionParticiones {
+
+    private static final String PREFIJO = "notificacion_p";
+    private static final DateTimeFormatter SUFIJO = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final String UPSERT_RESUMEN =
+            "insert into notificacion_resumen_hora (hora, tipo, cantidad) " +
+            "select date_trunc('hour', fecha), coalesce(tipo, ''), count(*) from notificacion " +
+            "where fecha >= ? and fecha < ? group by 1, 2 " +
+            "on conflict (hora, tipo) do update set cantidad = excluded.cantidad";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${notificaciones.particiones.dias-adelante:3}")
+    private int diasAdelante;
+
+    @Value("${notificaciones.retencion.dias:30}")
+    private int diasRetencion;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        crearParticiones();
+    }
+
+    @Scheduled(cron = "${notificaciones.particiones.cron:0 5 * * * *}")
+    public void mantener() {
+        crearParticiones();
+        acumularResumen();
+        eliminarVencidas();
+    }
+
+    // Próximos días más los días que tengan filas en la default (se mueven a su partición);
+    // los días ya vencidos no se particionan, eliminarVencidas los borra de la default
+    public void crearParticiones() {
+        LocalDate hoy = LocalDate.now();
+        LocalDate limite = hoy.minusDays(diasRetencion);
+        Set<LocalDate> dias = new TreeSet<>();
+        for (int i = 0; i <= diasAdelante; i++) dias.add(hoy.plusDays(i));
+        jdbcTemplate.queryForList("select distinct fecha::date from notificacion_default", Date.class)
+                .forEach(d -> dias.add(d.toLocalDate()));
+
+        for (LocalDate dia : dias) {
+            if (dia.isBefore(limite)) continue;
+            try {
+                jdbcTemplate.execute("select notificacion_crear_particion('" + dia + "')");
+            } catch (Exception e) {
+                log.error("No se pudo crear la partición de notificaciones del {}: {}", dia, e.getMessage());
+            }
+        }
+    }
+
+    // Recalcula desde la última hora acumulada (puede estar incompleta) hasta la hora en curso, sin incluirla
+    public void acumularResumen() {
+        LocalDateTime hasta = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        Timestamp ultima = jdbcTemplate.queryForObject(
+                "select max(hora) from notificacion_resumen_hora", Timestamp.class);
+        LocalDateTime desde = ultima != null ? ultima.toLocalDateTime() : hasta.minusDays(diasRetencion);
+        if (!desde.isBefore(hasta)) return;
+        int filas = jdbcTemplate.update(UPSERT_RESUMEN, Timestamp.valueOf(desde), Timestamp.valueOf(hasta));
+        log.debug("Resumen horario de notificaciones actualizado: {} filas", filas);
+    }
+
+    public void eliminarVencidas() {
+        LocalDate limite = LocalDate.now().minusDays(diasRetencion);
+        List<String> particiones = jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i " +
+                "join pg_class c on c.oid = i.inhrelid " +
+                "join pg_class p on p.oid = i.inhparent " +
+                "where p.relname = 'notificacion' and c.relname like '" + PREFIJO + "%'", String.class);
+        for (String particion : particiones) {
+            LocalDate dia;
+            try {
+                dia = LocalDate.parse(particion.substring(PREFIJO.length()), SUFIJO);
+            } catch (Exception e) {
+                continue;
+            }
+            if (!dia.isBefore(limite)) continue;
+
+            // El día completo queda en el resumen antes de borrar sus filas
+            jdbcTemplate.update(UPSERT_RESUMEN,
+                    Timestamp.valueOf(dia.atStartOfDay()), Timestamp.valueOf(dia.plusDays(1).atStartOfDay()));
+            jdbcTemplate.execute("drop table if exists " + particion);
+            log.info("Partición de notificaciones eliminada: {}", particion);
+        }
+
+        // Lo que quede en la default también respeta la retención (ya está en el resumen horario)
+        int borradas = jdbcTemplate.update("delete from notificacion_default where fecha < ?",
+                Timestamp.valueOf(limite.atStartOfDay()));
+        if (borradas > 0) log.info("Notificaciones vencidas borradas de la partición default: {}", borradas);
+    }
+}
@@ -2,31 +2,116 @@ package ec.edu.espe.msnotificaciones.service;
 
 
 import ec.edu.espe.msnotificaciones.DTO.NotificacionesDTO;
+import ec.edu.espe.msnotificaciones.dto.FeedNotificacionesDTO;
+import ec.edu.espe.msnotificaciones.dto.ResumenNotificacionesDTO;
 import ec.edu.espe.msnotificaciones.entity.Notificacion;
 import ec.edu.espe.msnotificaciones.repository.NotificacionesRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
 public class NotificacionService {
 
+    private static final int LIMITE_FEED = 200;
+    private static final int FETCH_SIZE = 500;
+
+    private static final RowMapper<Notificacion> FILA = (rs, i) -> {
+        Notificacion n = new Notificacion();
+        n.setId(rs.getLong("id"));
+        Timestamp fecha = rs.getTimestamp("fecha");
+        n.setFecha(fecha != null ? fecha.toLocalDateTime() : null);
+        n.setTipo(rs.getString("tipo"));
+        n.setMensaje(rs.getString("mensaje"));
+        return n;
+    };
+
     @Autowired
     private NotificacionesRepository notificacionesRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NotificacionStream notificacionStream;
 
-    public List<Notificacion> listarNotificaciones(){
+    // Recorre el historial con un cursor del driver (fetch size) sin cargarlo en memoria;
+    // readOnly deja autocommit en false, que es lo que necesita PostgreSQL para usar el cursor.
+    // El rango de fechas descarta particiones completas
+    @Transactional(readOnly = true)
+    public void recorrerNotificaciones(LocalDateTime desde, LocalDateTime hasta, Consumer<Notificacion> consumidor){
         log.info("Listando notificaciones");
-        return notificacionesRepository.findAll();
+        StringBuilder sql = new StringBuilder("select id, fecha, tipo, mensaje from notificacion where 1 = 1");
+        List<Object> params = new ArrayList<>();
+        filtrarFechas(sql, params, desde, hasta);
+        sql.append(" order by id desc");
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString());
+            for (int i = 0; i < params.size(); i++) ps.setObject(i + 1, params.get(i));
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, rs -> {
+            consumidor.accept(FILA.mapRow(rs, 0));
+        });
+    }
+
+    // Feed por cursor (id descendente): cada página es un range scan sobre el índice, sin OFFSET
+    @Transactional(readOnly = true)
+    public FeedNotificacionesDTO feed(Long after, int limit, String tipo, LocalDateTime desde, LocalDateTime hasta){
+        int tamanio = Math.max(1, Math.min(limit, LIMITE_FEED));
+        StringBuilder sql = new StringBuilder("select id, fecha, tipo, mensaje from notificacion where 1 = 1");
+        List<Object> params = new ArrayList<>();
+        if (tipo != null && !tipo.isBlank()) {
+            sql.append(" and tipo = ?");
+            params.add(tipo);
+        }
+        if (after != null) {
+            sql.append(" and id < ?");
+            params.add(after);
+        }
+        filtrarFechas(sql, params, desde, hasta);
+        // Se pide una fila de más para saber si hay siguiente página
+        sql.append(" order by id desc limit ?");
+        params.add(tamanio + 1);
+
+        List<Notificacion> filas = jdbcTemplate.query(sql.toString(), FILA, params.toArray());
+        Long siguiente = null;
+        if (filas.size() > tamanio) {
+            filas = filas.subList(0, tamanio);
+            siguiente = filas.get(tamanio - 1).getId();
+        }
+        return new FeedNotificacionesDTO(filas, siguiente);
+    }
+
+    // Historial agregado por hora y tipo; cubre también lo que ya salió de la retención
+    @Transactional(readOnly = true)
+    public List<ResumenNotificacionesDTO> resumenPorHora(LocalDateTime desde, LocalDateTime hasta, String tipo){
+        StringBuilder sql = new StringBuilder("select hora, tipo, cantidad from notificacion_resumen_hora where hora >= ? and hora < ?");
+        List<Object> params = new ArrayList<>(List.of(Timestamp.valueOf(desde), Timestamp.valueOf(hasta)));
+        if (tipo != null && !tipo.isBlank()) {
+            sql.append(" and tipo = ?");
+            params.add(tipo);
+        }
+        sql.append(" order by hora, tipo");
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> new ResumenNotificacionesDTO(
+                rs.getTimestamp("hora").toLocalDateTime(), rs.getString("tipo"), rs.getLong("cantidad")),
+                params.toArray());
     }
 
+    // Desde el buffer del stream, sin consulta: todas las instancias reciben cada lote guardado
     public List<Notificacion> obtenerUltimasNotificaciones(){
-        log.info("Obteniendo las últimas 10 notificaciones");
-        return notificacionesRepository.findTop10ByOrderByIdDesc();
+        return notificacionStream.ultimas(10);
     }
 
     public Page<Notificacion> obtenerNotificacionesPaginadas(Pageable pageable){
@@ -34,12 +119,40 @@ public class NotificacionService {
         return notificacionesRepository.findAllByOrderByIdDesc(pageable);
     }
 
-    public Notificacion guardarNotificacion(NotificacionesDTO notificacionesDTO){
-        Notificacion n = new Notificacion();
-        n.setMensaje(notificacionesDTO.getMensaje());
-        n.setTipo(notificacionesDTO.getTipo());
-        notificacionesRepository.save(n);
-        return n;
+    // Inserta el lote completo en una sola sentencia (unnest de arreglos) y devuelve las filas
+    // con su id, para difundirlas por el stream sin volver a consultar
+    @Transactional
+    public List<Notificacion> guardarNotificaciones(List<NotificacionesDTO> lote){
+        String[] tipos = new String[lote.size()];
+        String[] mensajes = new String[lote.size()];
+        for (int i = 0; i < lote.size(); i++) {
+            tipos[i] = lote.get(i).getTipo();
+            mensajes[i] = lote.get(i).getMensaje();
+        }
+        Timestamp fecha = Timestamp.valueOf(LocalDateTime.now());
+        List<Notificacion> guardadas = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "insert into notificacion (fecha, tipo, mensaje) " +
+                    "select ?, x.tipo, x.mensaje from unnest(?, ?) with ordinality as x(tipo, mensaje, orden) order by x.orden " +
+                    "returning id, fecha, tipo, mensaje");
+            ps.setTimestamp(1, fecha);
+            ps.setArray(2, con.createArrayOf("varchar", tipos));
+            ps.setArray(3, con.createArrayOf("varchar", mensajes));
+            return ps;
+        }, FILA);
+        log.debug("Notificaciones guardadas en lote: {}", guardadas.size());
+        return guardadas;
     }
 
+    // Condiciones sobre fecha, la clave de partición: PostgreSQL solo lee las particiones del rango
+    private void filtrarFechas(StringBuilder sql, List<Object> params, LocalDateTime desde, LocalDateTime hasta){
+        if (desde != null) {
+            sql.append(" and fecha >= ?");
+            params.add(Timestamp.valueOf(desde));
+        }
+        if (hasta != null) {
+            sql.append(" and fecha < ?");
+            params.add(Timestamp.valueOf(hasta));
+        }
+    }
 }
@@ -0,0 +1,205 @@
+package ec.edu.espe.msnotificaciones.service;
+
+import ec.edu.espe.msnotificaciones.entity.Notificacion;
+import ec.edu.espe.msnotificaciones.repository.NotificacionesRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Difunde por SSE las notificaciones que llegan por notificaciones.stream.exchange (lotes guardados
+// por cualquier instancia). Cada instancia recibe todos los lotes, así que su buffer con las últimas
+// es el mismo en todas: el backfill y /ultimas salen de memoria y solo un Last-Event-ID más
+// antiguo que el buffer consulta la BD
+@Slf4j
+@Service
+public class NotificacionStream {
+
+    private static final int CAPACIDAD = 500;
+    private static final int BACKFILL = 500;
+    // Margen para lotes con ids menores que se confirmaron después del último id recibido
+    private static final int VENTANA_SEG = 60;
+    private static final Object PING = new Object();
+
+    @Autowired
+    private NotificacionesRepository notificacionesRepository;
+
+    @Autowired
+    @Qualifier("sseExecutor")
+    private Executor executor;
+
+    @Value("${notificaciones.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // Un suscriptor con más envíos pendientes que esto se desconecta; al reconectar recupera con Last-Event-ID
+    @Value("${notificaciones.stream.max-pendientes:1000}")
+    private int maxPendientes;
+
+    // Ordenado por id: los lotes pueden llegar fuera de orden y un id repetido se reemplaza
+    private final TreeMap<Long, Notificacion> recientes = new TreeMap<>();
+    private final List<Suscriptor> suscriptores = new CopyOnWriteArrayList<>();
+
+    private static final class Suscriptor {
+        final SseEmitter emitter;
+        final Queue<Object> pendientes = new ConcurrentLinkedQueue<>();
+        final AtomicInteger cantidad = new AtomicInteger();
+        final AtomicBoolean programado = new AtomicBoolean();
+
+        Suscriptor(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    // Única consulta en régimen normal: se llena el buffer al arrancar
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargar() {
+        List<Notificacion> ultimas = notificacionesRepository.findTop500ByOrderByIdDesc();
+        synchronized (recientes) {
+            ultimas.forEach(this::agregar);
+        }
+    }
+
+    // Desde lastEventId (cabecera Last-Event-ID al reconectar) o todo el buffer.
+    // El backfill se encola antes de dar de alta al suscriptor: lo que se publique después llega
+    // detrás (puede repetirse algún id, el cliente los descarta)
+    public SseEmitter suscribir(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Suscriptor s = new Suscriptor(emitter);
+        emitter.onCompletion(() -> descartar(s));
+        emitter.onTimeout(() -> descartar(s));
+        emitter.onError(e -> descartar(s));
+
+        List<Notificacion> desdeBd = fueraDelBuffer(lastEventId)
+                ? notificacionesRepository.posterioresA(lastEventId, VENTANA_SEG, BACKFILL)
+                : List.of();
+        synchronized (recientes) {
+            List<Notificacion> backfill = new ArrayList<>(desdeBd);
+            backfill.addAll(desdeBd.isEmpty() ? backfill(lastEventId) : recientes.values());
+            encolar(s, backfill);
+            suscriptores.add(s);
+        }
+        return emitter;
+    }
+
+    public void publicar(List<Notificacion> notificaciones) {
+        synchronized (recientes) {
+            notificaciones.forEach(this::agregar);
+        }
+        for (Suscriptor s : suscriptores) encolar(s, notificaciones);
+    }
+
+    public List<Notificacion> ultimas(int cantidad) {
+        List<Notificacion> resultado = new ArrayList<>(cantidad);
+        synchronized (recientes) {
+            for (Notificacion n : recientes.descendingMap().values()) {
+                if (resultado.size() == cantidad) break;
+                resultado.add(n);
+            }
+        }
+        return resultado;
+    }
+
+    // Comentario SSE periódico para que proxies y el gateway no corten conexiones inactivas
+    @Scheduled(fixedDelayString = "${notificaciones.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Suscriptor s : suscriptores) encolar(s, List.of(PING));
+    }
+
+    private void agregar(Notificacion n) {
+        recientes.put(n.getId(), n);
+        if (recientes.size() > CAPACIDAD) recientes.pollFirstEntry();
+    }
+
+    // Sin buffer o con un id anterior a su inicio faltan notificaciones que solo están en la BD
+    private boolean fueraDelBuffer(Long lastEventId) {
+        if (lastEventId == null) return false;
+        synchronized (recientes) {
+            return recientes.isEmpty() || lastEventId < recientes.firstKey();
+        }
+    }
+
+    // Lo posterior a lastEventId más lo guardado en la misma ventana de fecha (igual que posterioresA)
+    private List<Notificacion> backfill(Long lastEventId) {
+        if (lastEventId == null) return new ArrayList<>(recientes.values());
+        Notificacion ultima = recientes.get(lastEventId);
+        if (ultima == null || ultima.getFecha() == null) {
+            return new ArrayList<>(recientes.tailMap(lastEventId, false).values());
+        }
+        LocalDateTime limite = ultima.getFecha().minusSeconds(VENTANA_SEG);
+        List<Notificacion> backfill = new ArrayList<>();
+        for (Notificacion n : recientes.values()) {
+            if (n.getId() > lastEventId || (n.getFecha() != null && !n.getFecha().isBefore(limite))) backfill.add(n);
+        }
+        return backfill;
+    }
+
+    // Los envíos de cada suscriptor se hacen en orden en el executor, nunca en el hilo que publica
+    private void encolar(Suscriptor s, List<?> elementos) {
+        if (elementos.isEmpty()) return;
+        if (s.cantidad.addAndGet(elementos.size()) > maxPendientes) {
+            log.debug("Suscriptor SSE demasiado lento, se desconecta");
+            descartar(s);
+            s.emitter.complete();
+            return;
+        }
+        s.pendientes.addAll(elementos);
+        programar(s);
+    }
+
+    private void programar(Suscriptor s) {
+        if (s.programado.compareAndSet(false, true)) executor.execute(() -> drenar(s));
+    }
+
+    private void drenar(Suscriptor s) {
+        try {
+            Object elemento;
+            while ((elemento = s.pendientes.poll()) != null) {
+                s.cantidad.decrementAndGet();
+                if (!enviar(s, elemento)) return;
+            }
+        } finally {
+            s.programado.set(false);
+        }
+        // Algo pudo encolarse entre el último poll y liberar la marca
+        if (!s.pendientes.isEmpty()) programar(s);
+    }
+
+    private boolean enviar(Suscriptor s, Object elemento) {
+        try {
+            if (elemento == PING) {
+                s.emitter.send(SseEmitter.event().comment("ping"));
+            } else {
+                Notificacion n = (Notificacion) elemento;
+                s.emitter.send(SseEmitter.event().id(String.valueOf(n.getId())).name("notificacion").data(n));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: se descarta sin afectar a los demás
+            descartar(s);
+            log.debug("Suscriptor SSE desconectado: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void descartar(Suscriptor s) {
+        suscriptores.remove(s);
+        s.pendientes.clear();
+    }
+}
@@ -0,0 +1,92 @@
+-- Notificaciones particionadas por día (rango sobre fecha). Se ejecuta antes de que Hibernate
+-- revise el esquema (separador en spring.sql.init.separator, por los bloques DO).
+
+-- Migración: si notificacion existe como tabla normal se renombra y se copia más abajo
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+               WHERE c.relname = 'notificacion' AND c.relkind = 'r' AND n.nspname = current_schema()) THEN
+        ALTER TABLE notificacion RENAME TO notificacion_legacy;
+        ALTER SEQUENCE IF EXISTS notificacion_id_seq RENAME TO notificacion_legacy_id_seq;
+        ALTER INDEX IF EXISTS notificacion_pkey RENAME TO notificacion_legacy_pkey;
+        ALTER INDEX IF EXISTS idx_notificacion_tipo_id RENAME TO idx_notificacion_legacy_tipo_id;
+    END IF;
+END $$
+@@
+
+CREATE TABLE IF NOT EXISTS notificacion (
+    id bigserial NOT NULL,
+    fecha timestamp(6) NOT NULL,
+    tipo varchar(255),
+    mensaje varchar(255),
+    PRIMARY KEY (id, fecha)
+) PARTITION BY RANGE (fecha)
+@@
+
+-- Red de seguridad si llega una fila sin partición creada; notificacion_crear_particion la vacía
+CREATE TABLE IF NOT EXISTS notificacion_default PARTITION OF notificacion DEFAULT
+@@
+
+-- Crea la partición del día moviendo antes las filas de ese día que hayan caído en la default
+-- (con filas del día en la default el CREATE ... PARTITION OF falla). Usada aquí y por
+-- NotificacionParticiones.
+CREATE OR REPLACE FUNCTION notificacion_crear_particion(dia date) RETURNS void AS $$
+DECLARE
+    particion text := 'notificacion_p' || to_char(dia, 'YYYYMMDD');
+BEGIN
+    IF to_regclass(particion) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    LOCK TABLE notificacion IN ACCESS EXCLUSIVE MODE;
+    CREATE TEMP TABLE IF NOT EXISTS notificacion_mover (LIKE notificacion_default) ON COMMIT DELETE ROWS;
+    WITH movidas AS (
+        DELETE FROM notificacion_default WHERE fecha >= dia AND fecha < dia + 1 RETURNING *
+    )
+    INSERT INTO notificacion_mover SELECT * FROM movidas;
+    EXECUTE format('CREATE TABLE %I PARTITION OF notificacion FOR VALUES FROM (%L) TO (%L)', particion, dia, dia + 1);
+    INSERT INTO notificacion SELECT * FROM notificacion_mover;
+    DELETE FROM notificacion_mover;
+END $$ LANGUAGE plpgsql
+@@
+
+CREATE INDEX IF NOT EXISTS idx_notificacion_tipo_id ON notificacion (tipo, id)
+@@
+
+-- Conteos por hora y tipo; sobreviven al borrado de particiones
+CREATE TABLE IF NOT EXISTS notificacion_resumen_hora (
+    hora timestamp(6) NOT NULL,
+    tipo varchar(255) NOT NULL,
+    cantidad bigint NOT NULL,
+    PRIMARY KEY (hora, tipo)
+)
+@@
+
+DO $$
+DECLARE
+    dia date;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+               WHERE c.relname = 'notificacion_legacy' AND n.nspname = current_schema()) THEN
+        FOR dia IN SELECT DISTINCT coalesce(fecha, now())::date FROM notificacion_legacy LOOP
+            PERFORM notificacion_crear_particion(dia);
+        END LOOP;
+        INSERT INTO notificacion (id, fecha, tipo, mensaje)
+        SELECT id, coalesce(fecha, now()), tipo, mensaje FROM notificacion_legacy;
+        PERFORM setval('notificacion_id_seq', coalesce((SELECT max(id) FROM notificacion), 0) + 1, false);
+        DROP TABLE notificacion_legacy;
+    END IF;
+END $$
+@@
+
+-- Particiones de hoy y los próximos días (notificaciones.particiones.dias-adelante) antes de que
+-- arranquen los listeners, y vaciado de la default hacia particiones por día
+DO $$
+DECLARE
+    dia date;
+BEGIN
+    FOR dia IN SELECT DISTINCT fecha::date FROM notificacion_default
+               UNION SELECT generate_series(current_date, current_date + 3, interval '1 day')::date LOOP
+        PERFORM notificacion_crear_particion(dia);
+    END LOOP;
+END $$
+@@
@@ -1,19 +1,27 @@
 package ec.edu.espe.msreportes.listener;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.edu.espe.msreportes.config.RabbitMQConfig;
 import ec.edu.espe.msreportes.dto.EventoColaDTO;
 import ec.edu.espe.msreportes.dto.NotificacionesDTO;
 import ec.edu.espe.msreportes.model.EventoVentas;
 import ec.edu.espe.msreportes.model.ReporteVentas;
+import ec.edu.espe.msreportes.repository.EventoVentasRepository;
 import ec.edu.espe.msreportes.repository.ReporteVentasRepository;
 import ec.edu.espe.msreportes.service.NotificacionProducer;
+import ec.edu.espe.msreportes.service.ReporteService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Objects;
 import java.util.Optional;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class EventoListener {
@@ -21,8 +29,12 @@ public class EventoListener {
     private final ObjectMapper objectMapper;
     private final ReporteVentasRepository reporteVentasRepository;
     private final NotificacionProducer notificacionProducer;
+    private final ReporteService reporteService;
+    private final EventoVentasRepository eventoVentasRepository;
 
-    @RabbitListener(queues = "eventosReporte.cola")
+    // Transaccional: agregar a un reporte existente recorre su colección lazy
+    @Transactional
+    @RabbitListener(queues = RabbitMQConfig.COLA_EVENTOS)
     public void recibirEvento(String mensajeJson) {
         try {
             EventoColaDTO eventoDTO = objectMapper.readValue(mensajeJson, EventoColaDTO.class);
@@ -32,31 +44,37 @@ public class EventoListener {
                     manejarCrear(eventoDTO);
                     break;
                 case "EDITAR":
+                case "ACTUALIZAR":
                     manejarEditar(eventoDTO);
                     break;
                 case "ELIMINAR":
                     manejarEliminar(eventoDTO.getIdEvento());
                     break;
                 default:
-                    System.out.println("Operación desconocida: " + eventoDTO.getOperacion());
+                    log.warn("Operación desconocida: {}", eventoDTO.getOperacion());
             }
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Error procesando mensaje de evento: {}", mensajeJson, e);
         }
     }
 
     private void manejarCrear(EventoColaDTO dto) {
         EventoVentas evento = mapToEventoVentas(dto);
 
-        ReporteVentas reporte = new ReporteVentas();
-        reporte.setTotalVentas(0.0);
-        reporte.setTicketsVendidos(0);
-        reporte.setFechaEvento(dto.getFecha());
-        reporte.setEventosDestacados(List.of(evento));
+        // Un solo reporte por fecha (índice único): si ya existe se agrega el evento
+        ReporteVentas reporte = reporteVentasRepository.findByFechaEvento(dto.getFecha()).orElseGet(() -> {
+            ReporteVentas nuevo = new ReporteVentas();
+            nuevo.setTotalVentas(BigDecimal.ZERO);
+            nuevo.setTicketsVendidos(0);
+            nuevo.setFechaEvento(dto.getFecha());
+            nuevo.setEventosDestacados(new ArrayList<>());
+            return nuevo;
+        });
+        reporte.getEventosDestacados().add(evento);
 
         reporteVentasRepository.save(reporte);
-        System.out.println("Evento creado en reporte: " + dto.getNombre());
+        log.info("Evento creado en reporte: {}", dto.getNombre());
         
         NotificacionesDTO notificacion = new NotificacionesDTO(
                 "Evento agregado al reporte: " + dto.getNombre(),
@@ -65,58 +83,40 @@ public class EventoListener {
         notificacionProducer.enviarNotificacion(notificacion);
     }
 
+    // Búsqueda directa por eventoId; si cambió la fecha el evento pasa al reporte de la nueva fecha
     private void manejarEditar(EventoColaDTO dto) {
-        Optional<ReporteVentas> optionalReporte = reporteVentasRepository.findByFechaEvento(dto.getFecha());
-        if (optionalReporte.isPresent()) {
-            ReporteVentas reporte = optionalReporte.get();
-            List<EventoVentas> eventos = reporte.getEventosDestacados();
-
-            boolean encontrado = false;
-            for (EventoVentas e : eventos) {
-                if (e.getEventoId().equals(dto.getIdEvento())) {
-                    e.setNombre(dto.getNombre());
-                    e.setCapacidad(dto.getCapacidad());
-                    e.setCiudad(dto.getCiudad());
-                    e.setEstablecimiento(dto.getEstablecimiento());
-                    e.setFecha(dto.getFecha());
-                    e.setHora(dto.getHora());
-                    encontrado = true;
-                    break;
-                }
-            }
-            if (!encontrado) {
-                eventos.add(mapToEventoVentas(dto));
-            }
-            reporteVentasRepository.save(reporte);
-            System.out.println("Evento editado en reporte: " + dto.getNombre());
-            
-            NotificacionesDTO notificacion = new NotificacionesDTO(
-                    "Evento actualizado en reporte: " + dto.getNombre(),
-                    "REPORTES"
-            );
-            notificacionProducer.enviarNotificacion(notificacion);
-        } else {
+        Optional<EventoVentas> existente = eventoVentasRepository.findFirstByEventoId(dto.getIdEvento());
+        if (existente.isEmpty() || !Objects.equals(existente.get().getFecha(), dto.getFecha())) {
+            existente.ifPresent(e -> eventoVentasRepository.eliminarPorEventoId(dto.getIdEvento()));
             manejarCrear(dto);
+            return;
         }
+
+        EventoVentas e = existente.get();
+        e.setNombre(dto.getNombre());
+        e.setCapacidad(dto.getCapacidad());
+        e.setCiudad(dto.getCiudad());
+        e.setEstablecimiento(dto.getEstablecimiento());
+        e.setHora(dto.getHora());
+        eventoVentasRepository.save(e);
+        log.info("Evento editado en reporte: {}", dto.getNombre());
+
+        NotificacionesDTO notificacion = new NotificacionesDTO(
+                "Evento actualizado en reporte: " + dto.getNombre(),
+                "REPORTES"
+        );
+        notificacionProducer.enviarNotificacion(notificacion);
     }
 
     private void manejarEliminar(Long idEvento) {
-        List<ReporteVentas> reportes = reporteVentasRepository.findAll();
-
-        for (ReporteVentas reporte : reportes) {
-            List<EventoVentas> eventos = reporte.getEventosDestacados();
-            boolean removed = eventos.removeIf(e -> e.getEventoId().equals(idEvento));
-            if (removed) {
-                reporteVentasRepository.save(reporte);
-                System.out.println("Evento eliminado de reporte: ID " + idEvento);
-                
-                NotificacionesDTO notificacion = new NotificacionesDTO(
-                        "Evento eliminado del reporte: ID " + idEvento,
-                        "REPORTES"
-                );
-                notificacionProducer.enviarNotificacion(notificacion);
-                break;
-            }
+        if (reporteService.eliminarEventoVentas(idEvento) > 0) {
+            log.info("Evento eliminado de reporte: ID {}", idEvento);
+
+            NotificacionesDTO notificacion = new NotificacionesDTO(
+                    "Evento eliminado del reporte: ID " + idEvento,
+                    "REPORTES"
+            );
+            notificacionProducer.enviarNotificacion(notificacion);
         }
     }
 
@@ -1,57 +1,43 @@
 package ec.edu.espe.msreportes.Listener;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import ec.edu.espe.msreportes.dto.TicketVentaDTO;
-import ec.edu.espe.msreportes.model.ReporteVentas;
-import ec.edu.espe.msreportes.repository.ReporteVentasRepository;
+import ec.edu.espe.msreportes.dto.VentaRealizadaDTO;
+import ec.edu.espe.msreportes.service.VentasProyeccion;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
-
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class TicketsListener {
 
     private final ObjectMapper objectMapper;
-    private final ReporteVentasRepository reporteVentasRepository;
+    private final VentasProyeccion ventasProyeccion;
 
-    @RabbitListener(queues = "tickets.cola")
+    // Un mensaje ilegible se descarta; un error de BD se propaga para que RabbitMQ lo reentregue
+    // (la deduplicación por factura evita sumar dos veces). Los totales se suman con UPDATE atómicos,
+    // así que el listener puede correr con varios hilos e instancias
+    @RabbitListener(queues = "tickets.cola", concurrency = "${reportes.ventas.concurrencia:1-4}")
     public void recibirTicketVenta(String mensajeJson) {
+        VentaRealizadaDTO venta;
         try {
-            TicketVentaDTO ticketDTO = objectMapper.readValue(mensajeJson, TicketVentaDTO.class);
-
-            // Por ejemplo, buscar el reporte por fecha del evento
-            Optional<ReporteVentas> reporteOptional = reporteVentasRepository.findByFechaEvento(ticketDTO.getFechaEvento());
-
-            if (reporteOptional.isPresent()) {
-                ReporteVentas reporte = reporteOptional.get();
-
-                // Actualizar totales, sumando o asignando directamente (ajusta según lógica)
-                Double totalVentasActual = reporte.getTotalVentas() != null ? reporte.getTotalVentas() : 0.0;
-                Integer ticketsVendidosActual = reporte.getTicketsVendidos() != null ? reporte.getTicketsVendidos() : 0;
-
-                reporte.setTotalVentas(totalVentasActual + ticketDTO.getMontoVenta());
-                reporte.setTicketsVendidos(ticketsVendidosActual + ticketDTO.getCantidadTickets());
-
-                reporteVentasRepository.save(reporte);
-
-                System.out.println("Reporte actualizado con nueva venta: " + ticketDTO.getMontoVenta());
-            } else {
-                // Si no existe reporte, crea uno nuevo con datos mínimos
-                ReporteVentas nuevoReporte = new ReporteVentas();
-                nuevoReporte.setFechaEvento(ticketDTO.getFechaEvento());
-                nuevoReporte.setTotalVentas(ticketDTO.getMontoVenta());
-                nuevoReporte.setTicketsVendidos(ticketDTO.getCantidadTickets());
-                // Inicializa lista eventos si es necesario
-                reporteVentasRepository.save(nuevoReporte);
-
-                System.out.println("Nuevo reporte creado para fecha: " + ticketDTO.getFechaEvento());
-            }
+            venta = objectMapper.readValue(mensajeJson, VentaRealizadaDTO.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Mensaje de venta inválido descartado: {}", mensajeJson);
+            return;
+        }
+        if (venta.getFacturaId() == null || venta.getIdEvento() == null || venta.getFecha() == null) {
+            log.warn("Venta sin factura, evento o fecha descartada: {}", mensajeJson);
+            return;
+        }
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        if (ventasProyeccion.aplicar(venta)) {
+            log.info("Venta aplicada: factura {} evento {} total {}", venta.getFacturaId(), venta.getIdEvento(), venta.getTotal());
+        } else {
+            log.info("Venta duplicada ignorada: factura {}", venta.getFacturaId());
         }
     }
 }
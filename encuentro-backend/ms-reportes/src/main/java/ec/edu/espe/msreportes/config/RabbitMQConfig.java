@@ -1,6 +1,10 @@
 package ec.edu.espe.msreportes.config;
 
 
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,12 +13,24 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
     public static final String COLA_EVENTOS = "eventosReporte.cola";
     public static final String COLA_TICKETS = "tickets.cola";
+    public static final String EXCHANGE_EVENTOS = "eventos.exchange";
 
     @Bean
     public Queue eventosQueue() {
         return new Queue(COLA_EVENTOS, true); // durable = true
     }
 
+    // Fanout de ms-eventos (CREAR/ACTUALIZAR/ELIMINAR): eventosReporte.cola recibe su propia copia
+    @Bean
+    public FanoutExchange eventosExchange() {
+        return ExchangeBuilder.fanoutExchange(EXCHANGE_EVENTOS).durable(true).build();
+    }
+
+    @Bean
+    public Binding eventosReporteBinding(Queue eventosQueue, FanoutExchange eventosExchange) {
+        return BindingBuilder.bind(eventosQueue).to(eventosExchange);
+    }
+
     @Bean
     public Queue ticketsQueue() {
         return new Queue(COLA_TICKETS, true);
@@ -0,0 +1,22 @@
+package ec.edu.espe.msreportes.config;
+
+import ec.edu.espe.msreportes.service.ReconstruccionVentas;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// Backfill al arrancar con --reconstruir-cubo (también disponible en POST /api/reportes/cubo/reconstruir)
+@Component
+@RequiredArgsConstructor
+public class ReconstruccionCuboRunner implements ApplicationRunner {
+
+    private final ReconstruccionVentas reconstruccion;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("reconstruir-cubo")) {
+            reconstruccion.reconstruir();
+        }
+    }
+}
@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -42,6 +43,7 @@ public class SecurityConfig {
                                 "/actuator/**"
                         ).permitAll()
                         .requestMatchers("/reportes").hasRole("ADMINISTRADOR")
+                        .requestMatchers(HttpMethod.POST, "/api/reportes/cubo/reconstruir").hasRole("ADMINISTRADOR")
                         .anyRequest().authenticated()
                 ) .exceptionHandling(ex -> ex
                         .accessDeniedHandler(customAccessDeniedHandler)
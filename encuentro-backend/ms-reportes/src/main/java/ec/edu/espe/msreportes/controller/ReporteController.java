@@ -1,17 +1,23 @@
 package ec.edu.espe.msreportes.controller;
 
+import ec.edu.espe.msreportes.dto.CeldaCuboDTO;
 import ec.edu.espe.msreportes.dto.ResponseDto;
 import ec.edu.espe.msreportes.dto.ReporteVentasRequestDTO;
 import ec.edu.espe.msreportes.model.ReporteVentas;
+import ec.edu.espe.msreportes.service.CuboVentas;
+import ec.edu.espe.msreportes.service.ReconstruccionVentas;
 import ec.edu.espe.msreportes.service.ReporteService;
+import ec.edu.espe.msreportes.service.VentasProyeccion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @RestController
@@ -20,6 +26,30 @@ import java.util.List;
 public class ReporteController {
 
     private final ReporteService reporteVentasService;
+    private final VentasProyeccion ventasProyeccion;
+    private final CuboVentas cuboVentas;
+    private final ReconstruccionVentas reconstruccionVentas;
+
+    // Proyección de ventas alimentada por tickets.cola
+    @GetMapping("/ventas/eventos")
+    public ResponseEntity<ResponseDto> ventasPorEvento() {
+        return ResponseEntity.ok(new ResponseDto("Ventas por evento obtenidas exitosamente", ventasProyeccion.ventasPorEvento()));
+    }
+
+    @GetMapping("/ventas/eventos/{idEvento}")
+    public ResponseEntity<ResponseDto> ventasDeEvento(@PathVariable Long idEvento) {
+        return ventasProyeccion.ventasDeEvento(idEvento)
+                .map(v -> ResponseEntity.ok(new ResponseDto("Ventas del evento obtenidas", v)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ResponseDto("El evento no registra ventas", null)));
+    }
+
+    @GetMapping("/ventas/dias")
+    public ResponseEntity<ResponseDto> ventasPorDia(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        return ResponseEntity.ok(new ResponseDto("Ventas por día obtenidas exitosamente", ventasProyeccion.ventasPorDia(desde, hasta)));
+    }
 
     @GetMapping
     public ResponseEntity<ResponseDto> listarReportes() {
@@ -27,6 +57,53 @@ public class ReporteController {
         return ResponseEntity.ok(new ResponseDto("Reportes obtenidos exitosamente", reportes));
     }
 
+    // Cubo de ventas (día, evento, ciudad): roll-ups por dia/semana/mes y por ciudad/evento
+    @GetMapping("/cubo")
+    public ResponseEntity<ResponseDto> rollUp(
+            @RequestParam(defaultValue = "dia") String nivel,
+            @RequestParam(defaultValue = "total") String por,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String ciudad,
+            @RequestParam(required = false) Long evento) {
+        try {
+            List<CeldaCuboDTO> celdas = cuboVentas.rollUp(nivel, por, desde, hasta, ciudad, evento);
+            return ResponseEntity.ok(new ResponseDto("Cubo de ventas obtenido exitosamente", celdas));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ResponseDto(e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/cubo/metricas")
+    public ResponseEntity<ResponseDto> metricasGenerales() {
+        return ResponseEntity.ok(new ResponseDto("Métricas obtenidas exitosamente",
+                cuboVentas.metricas(null, null, "Todos los tiempos")));
+    }
+
+    @GetMapping("/cubo/metricas/mes")
+    public ResponseEntity<ResponseDto> metricasDelMes() {
+        LocalDate hoy = LocalDate.now(ZoneOffset.UTC);
+        LocalDate inicio = hoy.withDayOfMonth(1);
+        return ResponseEntity.ok(new ResponseDto("Métricas obtenidas exitosamente",
+                cuboVentas.metricas(inicio, inicio.plusMonths(1).minusDays(1),
+                        "Mes actual (" + hoy.getMonth().name() + " " + hoy.getYear() + ")")));
+    }
+
+    @GetMapping("/cubo/metricas/rango")
+    public ResponseEntity<ResponseDto> metricasPorRango(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaFin) {
+        return ResponseEntity.ok(new ResponseDto("Métricas obtenidas exitosamente",
+                cuboVentas.metricas(fechaInicio, fechaFin, "Del " + fechaInicio + " al " + fechaFin)));
+    }
+
+    // Backfill desde la BD de tickets (vacía y rearma las proyecciones de ventas)
+    @PostMapping("/cubo/reconstruir")
+    public ResponseEntity<ResponseDto> reconstruirCubo() {
+        int facturas = reconstruccionVentas.reconstruir();
+        return ResponseEntity.ok(new ResponseDto("Proyecciones de ventas reconstruidas", facturas));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ResponseDto> obtenerReportePorId(@PathVariable Long id) {
         return reporteVentasService.obtenerReportePorId(id)
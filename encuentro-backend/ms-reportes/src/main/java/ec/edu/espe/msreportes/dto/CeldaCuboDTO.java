@@ -0,0 +1,16 @@
+package ec.edu.espe.msreportes.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Fila de un roll-up del cubo: periodo = inicio del día/semana/mes (null si nivel=total),
+// grupo = ciudad o id de evento (null si por=total)
+public record CeldaCuboDTO(
+        LocalDate periodo,
+        String grupo,
+        long tickets,
+        long facturas,
+        BigDecimal subtotal,
+        BigDecimal iva,
+        BigDecimal total
+) {}
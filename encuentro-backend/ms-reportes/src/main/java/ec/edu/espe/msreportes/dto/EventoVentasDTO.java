@@ -2,11 +2,13 @@ package ec.edu.espe.msreportes.dto;
 
 import lombok.*;
 
+import java.math.BigDecimal;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EventoVentasDTO {
     private Long eventoId;
     private String nombre;
-    private Double ventas;
+    private BigDecimal ventas;
 }
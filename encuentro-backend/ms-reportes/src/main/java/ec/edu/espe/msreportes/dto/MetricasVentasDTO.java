@@ -0,0 +1,11 @@
+package ec.edu.espe.msreportes.dto;
+
+import java.math.BigDecimal;
+
+// Mismos campos que MetricasDTO de tickets, calculados sobre el cubo
+public record MetricasVentasDTO(
+        long totalTickets,
+        long totalFacturas,
+        BigDecimal totalIngresos,
+        String periodo
+) {}
@@ -1,6 +1,8 @@
 package ec.edu.espe.msreportes.dto;
 
 import lombok.*;
+
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -8,7 +10,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ReporteVentasDTO {
-    private Double totalVentas;
+    private BigDecimal totalVentas;
     private Integer ticketsVendidos;
     private LocalDate fechaEvento;
     private List<EventoVentasDTO> eventosDestacados;
@@ -2,6 +2,8 @@ package ec.edu.espe.msreportes.dto;
 
 import jakarta.validation.constraints.*;
 import lombok.Data;
+
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -9,7 +11,7 @@ public class ReporteVentasRequestDTO {
     
     @NotNull(message = "El total de ventas es obligatorio")
     @DecimalMin(value = "0.0", inclusive = false, message = "El total de ventas debe ser mayor a 0")
-    private Double totalVentas;
+    private BigDecimal totalVentas;
     
     @NotNull(message = "Los tickets vendidos son obligatorios")
     @Min(value = 0, message = "Los tickets vendidos no pueden ser negativos")
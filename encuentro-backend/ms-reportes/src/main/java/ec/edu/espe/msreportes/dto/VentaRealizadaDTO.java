@@ -0,0 +1,26 @@
+package ec.edu.espe.msreportes.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Venta confirmada publicada por tickets en tickets.cola (una por factura)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaRealizadaDTO {
+    private UUID facturaId;
+    private Long idEvento;
+    private LocalDate fechaEvento;
+    private String ciudad;
+    private Integer cantidadTickets;
+    private BigDecimal subtotal;
+    private BigDecimal iva;
+    private BigDecimal total;
+    private Instant fecha;
+}
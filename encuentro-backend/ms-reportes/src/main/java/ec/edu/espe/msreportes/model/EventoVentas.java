@@ -3,12 +3,15 @@ package ec.edu.espe.msreportes.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "evento_ventas")
+@Table(name = "evento_ventas", indexes = {
+        @Index(name = "idx_evento_ventas_evento", columnList = "evento_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,5 +35,6 @@ public class EventoVentas {
 
     private Integer capacidad;
 
-    private Double ventas; // si lo necesitas, opcional
+    @Column(precision = 14, scale = 2)
+    private BigDecimal ventas; // si lo necesitas, opcional
 }
@@ -2,11 +2,15 @@ package ec.edu.espe.msreportes.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "reporte_ventas")
+@Table(name = "reporte_ventas", indexes = {
+        @Index(name = "ux_reporte_ventas_fecha", columnList = "fecha_evento", unique = true)
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +20,8 @@ public class ReporteVentas {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private Double totalVentas;
+    @Column(precision = 14, scale = 2)
+    private BigDecimal totalVentas;
 
     private Integer ticketsVendidos;
 
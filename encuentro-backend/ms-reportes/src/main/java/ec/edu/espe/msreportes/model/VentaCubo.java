@@ -0,0 +1,52 @@
+package ec.edu.espe.msreportes.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Celda del cubo de ventas: (día de compra UTC, evento, ciudad) -> totales.
+// Las consultas de los dashboards agregan celdas, nunca facturas
+@Entity
+@Table(name = "venta_cubo", indexes = {
+        @Index(name = "idx_venta_cubo_ciudad_dia", columnList = "ciudad, dia")
+})
+@IdClass(VentaCubo.Clave.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaCubo {
+
+    @Id
+    private LocalDate dia;
+
+    @Id
+    private Long eventoId;
+
+    @Id
+    private String ciudad;
+
+    private long tickets;
+
+    private long facturas;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal iva;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Clave implements Serializable {
+        private LocalDate dia;
+        private Long eventoId;
+        private String ciudad;
+    }
+}
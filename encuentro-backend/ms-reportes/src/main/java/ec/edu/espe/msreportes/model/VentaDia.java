@@ -0,0 +1,32 @@
+package ec.edu.espe.msreportes.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Acumulado de ventas por día de compra (UTC), mantenido por VentasProyeccion
+@Entity
+@Table(name = "venta_dia")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaDia {
+
+    @Id
+    private LocalDate dia;
+
+    private long tickets;
+
+    private long facturas;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal iva;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal total;
+}
@@ -0,0 +1,34 @@
+package ec.edu.espe.msreportes.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Acumulado de ventas por evento, mantenido por VentasProyeccion
+@Entity
+@Table(name = "venta_evento")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaEvento {
+
+    @Id
+    private Long eventoId;
+
+    private long tickets;
+
+    private long facturas;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal iva;
+
+    @Column(precision = 14, scale = 2)
+    private BigDecimal total;
+
+    private Instant ultimaVenta;
+}
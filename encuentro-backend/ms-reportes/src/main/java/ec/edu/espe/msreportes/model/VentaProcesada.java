@@ -0,0 +1,22 @@
+package ec.edu.espe.msreportes.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Facturas ya aplicadas a las proyecciones de ventas (deduplicación de reentregas)
+@Entity
+@Table(name = "venta_procesada")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VentaProcesada {
+
+    @Id
+    private UUID facturaId;
+
+    @Column(nullable = false)
+    private Instant procesadaEn;
+}
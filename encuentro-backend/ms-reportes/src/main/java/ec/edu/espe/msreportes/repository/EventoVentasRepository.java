@@ -0,0 +1,24 @@
+package ec.edu.espe.msreportes.repository;
+
+import ec.edu.espe.msreportes.model.EventoVentas;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// Acceso directo por eventoId (índice idx_evento_ventas_evento), sin recorrer los reportes
+@Repository
+public interface EventoVentasRepository extends JpaRepository<EventoVentas, Long> {
+
+    Optional<EventoVentas> findFirstByEventoId(Long eventoId);
+
+    @Query(value = "select reporte_ventas_id from evento_ventas where evento_id = :eventoId limit 1", nativeQuery = true)
+    Optional<Long> reporteDeEvento(@Param("eventoId") Long eventoId);
+
+    @Modifying
+    @Query("delete from EventoVentas e where e.eventoId = :eventoId")
+    int eliminarPorEventoId(@Param("eventoId") Long eventoId);
+}
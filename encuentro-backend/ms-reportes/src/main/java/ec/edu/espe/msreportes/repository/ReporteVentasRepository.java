@@ -3,8 +3,12 @@ package ec.edu.espe.msreportes.repository;
 
 import ec.edu.espe.msreportes.model.ReporteVentas;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Optional;
 
@@ -12,4 +16,14 @@ import java.util.Optional;
 public interface ReporteVentasRepository extends JpaRepository<ReporteVentas, Long> {
 
     Optional<ReporteVentas> findByFechaEvento(LocalDate fechaEvento);
+
+    // Suma atómica en la BD (sin leer la entidad): varios consumidores no pisan sus incrementos
+    @Modifying
+    @Query(value = "insert into reporte_ventas (fecha_evento, total_ventas, tickets_vendidos) " +
+            "values (:fecha, :total, :tickets) " +
+            "on conflict (fecha_evento) do update set " +
+            "total_ventas = coalesce(reporte_ventas.total_ventas, 0) + excluded.total_ventas, " +
+            "tickets_vendidos = coalesce(reporte_ventas.tickets_vendidos, 0) + excluded.tickets_vendidos",
+            nativeQuery = true)
+    int sumarVenta(@Param("fecha") LocalDate fecha, @Param("total") BigDecimal total, @Param("tickets") int tickets);
 }
@@ -0,0 +1,29 @@
+package ec.edu.espe.msreportes.repository;
+
+import ec.edu.espe.msreportes.model.VentaCubo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Repository
+public interface VentaCuboRepository extends JpaRepository<VentaCubo, VentaCubo.Clave> {
+
+    @Modifying
+    @Query(value = "insert into venta_cubo (dia, evento_id, ciudad, tickets, facturas, subtotal, iva, total) " +
+            "values (:dia, :eventoId, :ciudad, :tickets, :facturas, :subtotal, :iva, :total) " +
+            "on conflict (dia, evento_id, ciudad) do update set " +
+            "tickets = venta_cubo.tickets + excluded.tickets, " +
+            "facturas = venta_cubo.facturas + excluded.facturas, " +
+            "subtotal = venta_cubo.subtotal + excluded.subtotal, " +
+            "iva = venta_cubo.iva + excluded.iva, " +
+            "total = venta_cubo.total + excluded.total", nativeQuery = true)
+    int acumular(@Param("dia") LocalDate dia, @Param("eventoId") Long eventoId, @Param("ciudad") String ciudad,
+                 @Param("tickets") long tickets, @Param("facturas") long facturas,
+                 @Param("subtotal") BigDecimal subtotal, @Param("iva") BigDecimal iva,
+                 @Param("total") BigDecimal total);
+}
@@ -0,0 +1,31 @@
+package ec.edu.espe.msreportes.repository;
+
+import ec.edu.espe.msreportes.model.VentaDia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VentaDiaRepository extends JpaRepository<VentaDia, LocalDate> {
+
+    List<VentaDia> findByDiaBetweenOrderByDia(LocalDate desde, LocalDate hasta);
+
+    @Modifying
+    @Query(value = "insert into venta_dia (dia, tickets, facturas, subtotal, iva, total) " +
+            "values (:dia, :tickets, 1, :subtotal, :iva, :total) " +
+            "on conflict (dia) do update set " +
+            "tickets = venta_dia.tickets + excluded.tickets, " +
+            "facturas = venta_dia.facturas + 1, " +
+            "subtotal = venta_dia.subtotal + excluded.subtotal, " +
+            "iva = venta_dia.iva + excluded.iva, " +
+            "total = venta_dia.total + excluded.total", nativeQuery = true)
+    int acumular(@Param("dia") LocalDate dia, @Param("tickets") int tickets,
+                 @Param("subtotal") BigDecimal subtotal, @Param("iva") BigDecimal iva,
+                 @Param("total") BigDecimal total);
+}
@@ -0,0 +1,30 @@
+package ec.edu.espe.msreportes.repository;
+
+import ec.edu.espe.msreportes.model.VentaEvento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Repository
+public interface VentaEventoRepository extends JpaRepository<VentaEvento, Long> {
+
+    // Incremento atómico: crea la fila del evento o suma sobre la existente
+    @Modifying
+    @Query(value = "insert into venta_evento (evento_id, tickets, facturas, subtotal, iva, total, ultima_venta) " +
+            "values (:eventoId, :tickets, 1, :subtotal, :iva, :total, :fecha) " +
+            "on conflict (evento_id) do update set " +
+            "tickets = venta_evento.tickets + excluded.tickets, " +
+            "facturas = venta_evento.facturas + 1, " +
+            "subtotal = venta_evento.subtotal + excluded.subtotal, " +
+            "iva = venta_evento.iva + excluded.iva, " +
+            "total = venta_evento.total + excluded.total, " +
+            "ultima_venta = greatest(venta_evento.ultima_venta, excluded.ultima_venta)", nativeQuery = true)
+    int acumular(@Param("eventoId") Long eventoId, @Param("tickets") int tickets,
+                 @Param("subtotal") BigDecimal subtotal, @Param("iva") BigDecimal iva,
+                 @Param("total") BigDecimal total, @Param("fecha") Instant fecha);
+}
@@ -0,0 +1,21 @@
+package ec.edu.espe.msreportes.repository;
+
+import ec.edu.espe.msreportes.model.VentaProcesada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface VentaProcesadaRepository extends JpaRepository<VentaProcesada, UUID> {
+
+    // 1 si la factura es nueva, 0 si ya se había procesado
+    @Modifying
+    @Query(value = "insert into venta_procesada (factura_id, procesada_en) values (:facturaId, :ahora) " +
+            "on conflict (factura_id) do nothing", nativeQuery = true)
+    int registrar(@Param("facturaId") UUID facturaId, @Param("ahora") Instant ahora);
+}
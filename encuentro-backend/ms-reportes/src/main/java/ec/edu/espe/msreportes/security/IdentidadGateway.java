@@ -0,0 +1,57 @@
+package ec.edu.espe.msreportes.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// Identidad que el gateway ya verificó y firmó (cabecera X-Identidad-Gateway).
+// Comprobarla es un HMAC sobre unos pocos bytes, sin parsear el JWT
+@Component
+public class IdentidadGateway {
+
+    public static final String CABECERA = "X-Identidad-Gateway";
+
+    public record Identidad(String sujeto, String rol) {}
+
+    private final ThreadLocal<Mac> macs;
+
+    public IdentidadGateway(@Value("${gateway.identidad.secreto}") String secreto) {
+        SecretKeySpec clave = new SecretKeySpec(secreto.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA256");
+                mac.init(clave);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    // null si no viene la cabecera, la firma no coincide o ya expiró
+    public Identidad leer(HttpServletRequest request) {
+        String valor = request.getHeader(CABECERA);
+        if (valor == null) return null;
+        int punto = valor.indexOf('.');
+        if (punto < 0) return null;
+        try {
+            Base64.Decoder b64 = Base64.getUrlDecoder();
+            byte[] datos = b64.decode(valor.substring(0, punto));
+            byte[] firma = b64.decode(valor.substring(punto + 1));
+            if (!MessageDigest.isEqual(firma, macs.get().doFinal(datos))) return null;
+
+            String[] partes = new String(datos, StandardCharsets.UTF_8).split("\\|");
+            if (partes.length != 3 || Long.parseLong(partes[2]) <= System.currentTimeMillis()) return null;
+            return new Identidad(partes[0], partes[1]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ec.edu.espe.msreportes.service;
+
+import ec.edu.espe.msreportes.dto.CeldaCuboDTO;
+import ec.edu.espe.msreportes.dto.MetricasVentasDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Consultas de roll-up sobre venta_cubo: el costo depende de las celdas del rango, no de las facturas
+@Service
+@RequiredArgsConstructor
+public class CuboVentas {
+
+    public static final String SIN_CIUDAD = "SIN CIUDAD";
+
+    private static final Map<String, String> NIVELES = Map.of(
+            "dia", "dia",
+            "semana", "date_trunc('week', dia)::date",
+            "mes", "date_trunc('month', dia)::date",
+            "total", "null::date");
+
+    private static final Map<String, String> GRUPOS = Map.of(
+            "ciudad", "ciudad",
+            "evento", "evento_id::text",
+            "total", "null::text");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<CeldaCuboDTO> rollUp(String nivel, String por, LocalDate desde, LocalDate hasta,
+                                     String ciudad, Long eventoId) {
+        String periodo = NIVELES.get(nivel);
+        String grupo = GRUPOS.get(por);
+        if (periodo == null) throw new IllegalArgumentException("Nivel inválido: " + nivel + " (dia, semana, mes, total)");
+        if (grupo == null) throw new IllegalArgumentException("Agrupación inválida: " + por + " (ciudad, evento, total)");
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("select ").append(periodo).append(" as periodo, ").append(grupo)
+                .append(" as grupo, sum(tickets), sum(facturas), sum(subtotal), sum(iva), sum(total) from venta_cubo")
+                .append(filtros(desde, hasta, ciudad, eventoId, params))
+                .append(" group by 1, 2 order by 1, 2");
+
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> {
+            Date p = rs.getDate(1);
+            return new CeldaCuboDTO(p != null ? p.toLocalDate() : null, rs.getString(2),
+                    rs.getLong(3), rs.getLong(4), rs.getBigDecimal(5), rs.getBigDecimal(6), rs.getBigDecimal(7));
+        }, params.toArray());
+    }
+
+    public MetricasVentasDTO metricas(LocalDate desde, LocalDate hasta, String periodo) {
+        List<Object> params = new ArrayList<>();
+        String sql = "select coalesce(sum(tickets), 0), coalesce(sum(facturas), 0), coalesce(sum(total), 0) from venta_cubo"
+                + filtros(desde, hasta, null, null, params);
+        return jdbcTemplate.queryForObject(sql, (rs, i) ->
+                new MetricasVentasDTO(rs.getLong(1), rs.getLong(2), rs.getBigDecimal(3), periodo), params.toArray());
+    }
+
+    private static String filtros(LocalDate desde, LocalDate hasta, String ciudad, Long eventoId, List<Object> params) {
+        StringBuilder where = new StringBuilder(" where 1 = 1");
+        if (desde != null) {
+            where.append(" and dia >= ?");
+            params.add(Date.valueOf(desde));
+        }
+        if (hasta != null) {
+            where.append(" and dia <= ?");
+            params.add(Date.valueOf(hasta));
+        }
+        if (ciudad != null && !ciudad.isBlank()) {
+            where.append(" and ciudad = ?");
+            params.add(ciudad);
+        }
+        if (eventoId != null) {
+            where.append(" and evento_id = ?");
+            params.add(eventoId);
+        }
+        return where.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package ec.edu.espe.msreportes.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Reconstruye las proyecciones de ventas (cubo, por evento, por día y facturas procesadas) leyendo
+// las facturas directamente de la BD de tickets. Se vacían las tablas antes de leer: el TRUNCATE
+// bloquea al listener hasta el commit, y cualquier venta que llegue después ya está marcada o es nueva
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconstruccionVentas {
+
+    private static final int LOTE = 1000;
+
+    private static final String FACTURAS =
+            "select f.id, f.id_evento, e.ciudad, f.subtotal, f.iva, f.total, f.created_at, " +
+            "(select count(*) from ticket t where t.id_factura = f.id) " +
+            "from factura f left join evento_disponible e on e.id_evento = f.id_evento";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${reportes.tickets-db.url}")
+    private String ticketsUrl;
+
+    @Value("${reportes.tickets-db.username}")
+    private String ticketsUsuario;
+
+    @Value("${reportes.tickets-db.password}")
+    private String ticketsPassword;
+
+    private record Clave(LocalDate dia, Long eventoId, String ciudad) {}
+
+    private static final class Totales {
+        long tickets;
+        long facturas;
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal iva = BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+    }
+
+    // Devuelve la cantidad de facturas procesadas
+    @Transactional
+    public int reconstruir() {
+        jdbcTemplate.execute("truncate table venta_cubo, venta_evento, venta_dia, venta_procesada");
+
+        Map<Clave, Totales> celdas = new HashMap<>();
+        Map<Long, Timestamp> ultimas = new HashMap<>();
+        List<Object[]> procesadas = new ArrayList<>(LOTE);
+        Timestamp ahora = Timestamp.from(Instant.now());
+        int leidas = 0;
+
+        DriverManagerDataSource origen = new DriverManagerDataSource(ticketsUrl, ticketsUsuario, ticketsPassword);
+        try (Connection con = origen.getConnection()) {
+            // Sin autocommit el driver usa un cursor y trae las filas por bloques (fetchSize)
+            con.setAutoCommit(false);
+            con.setReadOnly(true);
+            try (PreparedStatement ps = con.prepareStatement(FACTURAS)) {
+                ps.setFetchSize(LOTE);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        UUID facturaId = rs.getObject(1, UUID.class);
+                        Long eventoId = rs.getLong(2);
+                        String ciudad = rs.getString(3) != null ? rs.getString(3) : CuboVentas.SIN_CIUDAD;
+                        Timestamp fecha = rs.getTimestamp(7);
+                        LocalDate dia = LocalDate.ofInstant(fecha.toInstant(), ZoneOffset.UTC);
+
+                        Totales t = celdas.computeIfAbsent(new Clave(dia, eventoId, ciudad), k -> new Totales());
+                        t.tickets += rs.getLong(8);
+                        t.facturas++;
+                        t.subtotal = t.subtotal.add(rs.getBigDecimal(4));
+                        t.iva = t.iva.add(rs.getBigDecimal(5));
+                        t.total = t.total.add(rs.getBigDecimal(6));
+                        ultimas.merge(eventoId, fecha, (a, b) -> a.after(b) ? a : b);
+
+                        procesadas.add(new Object[]{facturaId, ahora});
+                        if (procesadas.size() == LOTE) {
+                            insertarProcesadas(procesadas);
+                            procesadas.clear();
+                        }
+                        leidas++;
+                    }
+                }
+            }
+            con.commit();
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo leer las facturas de la BD de tickets", e);
+        }
+        if (!procesadas.isEmpty()) insertarProcesadas(procesadas);
+
+        List<Object[]> filas = new ArrayList<>(celdas.size());
+        celdas.forEach((k, t) -> filas.add(new Object[]{Date.valueOf(k.dia()), k.eventoId(), k.ciudad(),
+                t.tickets, t.facturas, t.subtotal, t.iva, t.total}));
+        jdbcTemplate.batchUpdate("insert into venta_cubo (dia, evento_id, ciudad, tickets, facturas, subtotal, iva, total) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?)", filas);
+
+        // Por evento y por día se derivan del cubo
+        jdbcTemplate.update("insert into venta_evento (evento_id, tickets, facturas, subtotal, iva, total) " +
+                "select evento_id, sum(tickets), sum(facturas), sum(subtotal), sum(iva), sum(total) from venta_cubo group by evento_id");
+        jdbcTemplate.batchUpdate("update venta_evento set ultima_venta = ? where evento_id = ?",
+                ultimas.entrySet().stream().map(e -> new Object[]{e.getValue(), e.getKey()}).toList());
+        jdbcTemplate.update("insert into venta_dia (dia, tickets, facturas, subtotal, iva, total) " +
+                "select dia, sum(tickets), sum(facturas), sum(subtotal), sum(iva), sum(total) from venta_cubo group by dia");
+
+        log.info("Proyecciones de ventas reconstruidas: {} facturas, {} celdas del cubo", leidas, celdas.size());
+        return leidas;
+    }
+
+    private void insertarProcesadas(List<Object[]> lote) {
+        jdbcTemplate.batchUpdate("insert into venta_procesada (factura_id, procesada_en) values (?, ?)", lote);
+    }
+}
@@ -3,11 +3,15 @@ package ec.edu.espe.msreportes.service;
 import ec.edu.espe.msreportes.dto.EventoColaDTO;
 import ec.edu.espe.msreportes.model.EventoVentas;
 import ec.edu.espe.msreportes.model.ReporteVentas;
+import ec.edu.espe.msreportes.repository.EventoVentasRepository;
 import ec.edu.espe.msreportes.repository.ReporteVentasRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +20,7 @@ import java.util.Optional;
 public class ReporteService {
 
     private final ReporteVentasRepository reporteVentasRepository;
+    private final EventoVentasRepository eventoVentasRepository;
 
     public ReporteVentas crearReporte(ReporteVentas reporte) {
         // Guardar reporte nuevo
@@ -94,22 +99,26 @@ public class ReporteService {
         } else {
             ReporteVentas nuevoReporte = new ReporteVentas();
             nuevoReporte.setFechaEvento(dto.getFecha());
-            nuevoReporte.setTotalVentas(0.0);
+            nuevoReporte.setTotalVentas(BigDecimal.ZERO);
             nuevoReporte.setTicketsVendidos(0);
-            nuevoReporte.setEventosDestacados(List.of(evento));
+            nuevoReporte.setEventosDestacados(new ArrayList<>(List.of(evento)));
             return reporteVentasRepository.save(nuevoReporte);
         }
     }
 
     // Método para eliminar evento de reporte por idEvento
+    @Transactional
     public ReporteVentas eliminarEventoDeReporte(Long idEvento) {
-        List<ReporteVentas> reportes = reporteVentasRepository.findAll();
-        for (ReporteVentas reporte : reportes) {
-            boolean removed = reporte.getEventosDestacados().removeIf(e -> e.getEventoId().equals(idEvento));
-            if (removed) {
-                return reporteVentasRepository.save(reporte);
-            }
-        }
-        throw new RuntimeException("Evento con id " + idEvento + " no encontrado en reportes");
+        Long reporteId = eventoVentasRepository.reporteDeEvento(idEvento)
+                .orElseThrow(() -> new RuntimeException("Evento con id " + idEvento + " no encontrado en reportes"));
+        eventoVentasRepository.eliminarPorEventoId(idEvento);
+        return reporteVentasRepository.findById(reporteId)
+                .orElseThrow(() -> new RuntimeException("No existe reporte con id: " + reporteId));
+    }
+
+    // Borrado directo por eventoId; devuelve cuántas filas se eliminaron
+    @Transactional
+    public int eliminarEventoVentas(Long idEvento) {
+        return eventoVentasRepository.eliminarPorEventoId(idEvento);
     }
 }
@@ -0,0 +1,65 @@
+package ec.edu.espe.msreportes.service;
+
+import ec.edu.espe.msreportes.dto.VentaRealizadaDTO;
+import ec.edu.espe.msreportes.model.VentaDia;
+import ec.edu.espe.msreportes.model.VentaEvento;
+import ec.edu.espe.msreportes.repository.ReporteVentasRepository;
+import ec.edu.espe.msreportes.repository.VentaCuboRepository;
+import ec.edu.espe.msreportes.repository.VentaDiaRepository;
+import ec.edu.espe.msreportes.repository.VentaEventoRepository;
+import ec.edu.espe.msreportes.repository.VentaProcesadaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+// Proyección incremental de ventas por evento, por día y en el cubo (día, evento, ciudad) a partir de tickets.cola.
+// La marca de factura procesada y los incrementos van en la misma transacción:
+// una reentrega del mismo mensaje no vuelve a sumar
+@Service
+@RequiredArgsConstructor
+public class VentasProyeccion {
+
+    private final VentaProcesadaRepository procesadas;
+    private final VentaEventoRepository porEvento;
+    private final VentaDiaRepository porDia;
+    private final VentaCuboRepository cubo;
+    private final ReporteVentasRepository reporteVentasRepository;
+
+    // true si la venta se aplicó, false si era un duplicado
+    @Transactional
+    public boolean aplicar(VentaRealizadaDTO venta) {
+        if (procesadas.registrar(venta.getFacturaId(), Instant.now()) == 0) {
+            return false;
+        }
+        int tickets = venta.getCantidadTickets() != null ? venta.getCantidadTickets() : 0;
+        porEvento.acumular(venta.getIdEvento(), tickets, venta.getSubtotal(), venta.getIva(), venta.getTotal(),
+                venta.getFecha());
+        LocalDate dia = LocalDate.ofInstant(venta.getFecha(), ZoneOffset.UTC);
+        porDia.acumular(dia, tickets, venta.getSubtotal(), venta.getIva(), venta.getTotal());
+        String ciudad = venta.getCiudad() != null ? venta.getCiudad() : CuboVentas.SIN_CIUDAD;
+        cubo.acumular(dia, venta.getIdEvento(), ciudad, tickets, 1, venta.getSubtotal(), venta.getIva(), venta.getTotal());
+        // Reporte de ventas por fecha del evento (ReporteVentas); sin fecha no hay reporte al que sumar
+        if (venta.getFechaEvento() != null) {
+            reporteVentasRepository.sumarVenta(venta.getFechaEvento(), venta.getTotal(), tickets);
+        }
+        return true;
+    }
+
+    public List<VentaEvento> ventasPorEvento() {
+        return porEvento.findAll();
+    }
+
+    public Optional<VentaEvento> ventasDeEvento(Long eventoId) {
+        return porEvento.findById(eventoId);
+    }
+
+    public List<VentaDia> ventasPorDia(LocalDate desde, LocalDate hasta) {
+        return porDia.findByDiaBetweenOrderByDia(desde, hasta);
+    }
+}
@@ -0,0 +1,24 @@
+-- Se ejecuta después de que Hibernate crea/actualiza las tablas (spring.jpa.defer-datasource-initialization)
+
+-- Montos en numeric: ddl-auto=update no cambia el tipo de columnas existentes (antes double precision)
+alter table reporte_ventas alter column total_ventas type numeric(14,2) using round(total_ventas::numeric, 2);
+alter table evento_ventas alter column ventas type numeric(14,2) using round(ventas::numeric, 2);
+
+-- Un solo reporte por fecha de evento: se fusionan los duplicados en el de menor id antes de crear el índice único
+update reporte_ventas r
+set total_ventas = g.total_ventas, tickets_vendidos = g.tickets_vendidos
+from (select min(id) as id, sum(coalesce(total_ventas, 0)) as total_ventas, sum(coalesce(tickets_vendidos, 0)) as tickets_vendidos
+      from reporte_ventas group by fecha_evento having count(*) > 1) g
+where r.id = g.id;
+
+update evento_ventas e
+set reporte_ventas_id = k.id
+from reporte_ventas r
+join (select fecha_evento, min(id) as id from reporte_ventas group by fecha_evento) k on k.fecha_evento = r.fecha_evento
+where e.reporte_ventas_id = r.id and r.id <> k.id;
+
+delete from reporte_ventas r
+using reporte_ventas k
+where r.fecha_evento = k.fecha_evento and r.id > k.id;
+
+create unique index if not exists ux_reporte_ventas_fecha on reporte_ventas (fecha_evento);
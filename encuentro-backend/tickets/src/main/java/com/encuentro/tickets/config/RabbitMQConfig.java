@@ -0,0 +1,34 @@
+package com.encuentro.tickets.config;
+
+import org.springframework.amqp.core.*;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+    public static final String COLA_TICKETS = "tickets.cola";
+    public static final String EXCHANGE_EVENTOS = "eventos.exchange";
+
+    // Se declara también aquí para no perder ventas si ms-reportes aún no arrancó
+    @Bean
+    public Queue ticketsQueue() {
+        return new Queue(COLA_TICKETS, true);
+    }
+
+    @Bean
+    public FanoutExchange eventosExchange() {
+        return ExchangeBuilder.fanoutExchange(EXCHANGE_EVENTOS).durable(true).build();
+    }
+
+    // Cola propia de cada instancia de tickets (exclusiva, se borra al desconectarse):
+    // eventos.cola reparte cada cambio a una sola instancia; con esta todas refrescan su catálogo de tarjetas
+    @Bean
+    public Queue catalogoTarjetasCola() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding catalogoTarjetasBinding(Queue catalogoTarjetasCola, FanoutExchange eventosExchange) {
+        return BindingBuilder.bind(catalogoTarjetasCola).to(eventosExchange);
+    }
+}
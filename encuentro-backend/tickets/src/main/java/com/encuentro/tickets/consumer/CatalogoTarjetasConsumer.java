@@ -0,0 +1,29 @@
+package com.encuentro.tickets.consumer;
+
+import com.encuentro.tickets.dto.EventoColaDTO;
+import com.encuentro.tickets.services.EventoDisponibleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+// Copia de cada cambio de eventos para esta instancia: solo actualiza el catálogo de tarjetas en memoria.
+// La persistencia y los asientos los hace EventoConsumer en la instancia que toma el mensaje de eventos.cola
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogoTarjetasConsumer {
+
+    private final EventoDisponibleService eventoDisponibleService;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = "#{catalogoTarjetasCola.name}")
+    public void recibirEvento(String mensaje) {
+        try {
+            eventoDisponibleService.aplicarCambio(objectMapper.readValue(mensaje, EventoColaDTO.class));
+        } catch (Exception e) {
+            log.warn("No se pudo aplicar el cambio de evento al catálogo {}: {}", mensaje, e.getMessage());
+        }
+    }
+}
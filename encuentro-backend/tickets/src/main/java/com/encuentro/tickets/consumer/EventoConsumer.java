@@ -57,6 +57,7 @@ public class EventoConsumer {
             log.info("📝 Actualizando evento disponible existente: ID={}, Capacidad anterior={}, Capacidad nueva={}", 
                     eventoColaDTO.getIdEvento(), existente.getCapacidad(), eventoColaDTO.getCapacidad());
             existente.setCapacidad(eventoColaDTO.getCapacidad());
+            copiarCatalogo(eventoColaDTO, existente);
             EventoDisponible actualizado = eventoDisponibleService.save(existente);
             log.info("✅ Evento disponible actualizado: ID={}, Nueva capacidad={}", 
                     actualizado.getIdEvento(), actualizado.getCapacidad());
@@ -72,6 +73,7 @@ public class EventoConsumer {
             EventoDisponible nuevo = new EventoDisponible();
             nuevo.setIdEvento(eventoColaDTO.getIdEvento());
             nuevo.setCapacidad(eventoColaDTO.getCapacidad());
+            copiarCatalogo(eventoColaDTO, nuevo);
             EventoDisponible creado = eventoDisponibleService.save(nuevo);
             log.info("✅ Evento disponible creado: ID={}, Capacidad={}", 
                     creado.getIdEvento(), creado.getCapacidad());
@@ -84,6 +86,18 @@ public class EventoConsumer {
         }
     }
     
+    // Mensajes anteriores solo traían id y capacidad: no se pisan datos de catálogo con null
+    private void copiarCatalogo(EventoColaDTO dto, EventoDisponible evento) {
+        if (dto.getNombre() == null) return;
+        evento.setNombre(dto.getNombre());
+        evento.setIdCiudad(dto.getIdCiudad());
+        evento.setCiudad(dto.getCiudad());
+        evento.setEstablecimiento(dto.getEstablecimiento());
+        evento.setFecha(dto.getFecha());
+        evento.setHora(dto.getHora());
+        evento.setPrecio(dto.getPrecio());
+    }
+
     private void manejarEliminacion(Long idEvento) {
         EventoDisponible existente = eventoDisponibleService.findById(idEvento);
         
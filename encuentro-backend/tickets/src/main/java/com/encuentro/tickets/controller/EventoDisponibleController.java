@@ -2,6 +2,7 @@ package com.encuentro.tickets.controller;
 
 import com.encuentro.tickets.dto.EventoDisponibleDTO;
 import com.encuentro.tickets.dto.ResponseDto;
+import com.encuentro.tickets.dto.TarjetaEventoDTO;
 import com.encuentro.tickets.model.EventoDisponible;
 import com.encuentro.tickets.services.EventoDisponibleService;
 import jakarta.validation.Valid;
@@ -11,6 +12,8 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/eventos-disponibles")
@@ -28,6 +31,23 @@ public class EventoDisponibleController {
         return ResponseEntity.ok(new ResponseDto("Eventos disponibles obtenidos exitosamente", eventos));
     }
 
+    // Catálogo + disponibilidad de todos los eventos, en una sola llamada
+    @GetMapping("/tarjetas")
+    public ResponseEntity<ResponseDto> tarjetas() {
+        List<TarjetaEventoDTO> tarjetas = service.tarjetas();
+        return ResponseEntity.ok(new ResponseDto("Tarjetas de eventos obtenidas exitosamente", tarjetas));
+    }
+
+    @GetMapping("/{id}/tarjeta")
+    public ResponseEntity<ResponseDto> tarjeta(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(new ResponseDto("Tarjeta del evento obtenida", service.tarjeta(id)));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseDto("Evento disponible no encontrado", null));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ResponseDto> getById(@PathVariable Long id) {
         EventoDisponible evento = service.findById(id);
@@ -59,7 +79,8 @@ public class EventoDisponibleController {
             return ResponseEntity.badRequest().body(new ResponseDto("Errores de validación", result.getAllErrors()));
         }
         
-        EventoDisponible evento = new EventoDisponible();
+        // Conserva los datos de catálogo recibidos de ms-eventos
+        EventoDisponible evento = Optional.ofNullable(service.findById(id)).orElseGet(EventoDisponible::new);
         evento.setIdEvento(id);
         evento.setCapacidad(eventoDTO.getCapacidad());
         
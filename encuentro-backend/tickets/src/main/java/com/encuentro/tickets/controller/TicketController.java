@@ -6,8 +6,10 @@ import com.encuentro.tickets.services.TicketService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -24,6 +26,17 @@ public class TicketController {
         return ResponseEntity.ok(service.getAsientos(idEvento));
     }
 
+    // Mapa compacto (2 bits por asiento); admite If-None-Match con la versión como ETag
+    @GetMapping("/eventos/{idEvento}/asientos/mapa")
+    public ResponseEntity<SeatBitmapView> mapaAsientos(@PathVariable Long idEvento, WebRequest request) {
+        SeatBitmapView mapa = service.getMapaAsientos(idEvento);
+        String etag = "\"" + mapa.version() + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(mapa);
+    }
+
     @PostMapping("/holds")
     public ResponseEntity<Void> hold(@Valid @RequestBody HoldSeatsRequest req) {
         service.hold(req);
@@ -31,8 +44,10 @@ public class TicketController {
     }
 
     @PostMapping("/purchases")
-    public ResponseEntity<FacturaResponse> purchase(@Valid @RequestBody PurchaseRequest req) {
-        return ResponseEntity.ok(service.purchase(req));
+    public ResponseEntity<FacturaResponse> purchase(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody PurchaseRequest req) {
+        return ResponseEntity.ok(service.purchase(req, idempotencyKey));
     }
 
     @GetMapping("/compras/{cedula}")
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Data
 @NoArgsConstructor
@@ -14,4 +16,10 @@ public class EventoColaDTO {
     private Integer capacidad;
     private String operacion;
     private BigDecimal precio;
-}
\ No newline at end of file
+    private String nombre;
+    private Long idCiudad;
+    private String ciudad;
+    private String establecimiento;
+    private LocalDate fecha;
+    private LocalTime hora;
+}
@@ -0,0 +1,11 @@
+package com.encuentro.tickets.dto;
+
+// datos: base64 de los estados a 2 bits por asiento (0 = AVAILABLE, 1 = HOLD, 2 = PURCHASED);
+// el asiento n ocupa los bits 2*(n-1) y 2*(n-1)+1, empezando por el bit menos significativo
+public record SeatBitmapView(
+        Long idEvento,
+        int capacidad,
+        long version,
+        int bitsPorAsiento,
+        String datos
+) {}
@@ -0,0 +1,21 @@
+package com.encuentro.tickets.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Vista lista para pintar un evento: catálogo + disponibilidad, sin cargar los asientos
+public record TarjetaEventoDTO(
+        Long idEvento,
+        String nombre,
+        Long idCiudad,
+        String ciudad,
+        String establecimiento,
+        LocalDate fecha,
+        LocalTime hora,
+        BigDecimal precio,
+        int capacidad,
+        int disponibles,
+        int retenidos,
+        int vendidos
+) {}
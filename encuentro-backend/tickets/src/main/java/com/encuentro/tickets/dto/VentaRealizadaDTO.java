@@ -0,0 +1,20 @@
+package com.encuentro.tickets.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Venta confirmada que se publica en tickets.cola para las proyecciones de ms-reportes;
+// facturaId identifica la venta (los consumidores descartan duplicados por este id)
+public record VentaRealizadaDTO(
+        UUID facturaId,
+        Long idEvento,
+        LocalDate fechaEvento,
+        String ciudad,
+        int cantidadTickets,
+        BigDecimal subtotal,
+        BigDecimal iva,
+        BigDecimal total,
+        Instant fecha
+) {}
@@ -14,9 +14,17 @@ public class HoldCleanupJob {
 
     private final TicketService service;
 
-    @Scheduled(fixedDelay = 30000) // cada 30s
+    // Vencimientos exactos programados al crear cada hold
+    @Scheduled(fixedDelayString = "${tickets.holds.expiracion-ms:250}")
+    public void expirar() {
+        int released = service.releaseDueHolds();
+        if (released > 0) log.debug("Holds vencidos liberados: {}", released);
+    }
+
+    // Red de seguridad: barrido completo de baja frecuencia
+    @Scheduled(fixedDelayString = "${tickets.holds.barrido-ms:300000}")
     public void cleanup() {
         int released = service.releaseExpiredHolds();
-        if (released > 0) log.info("Holds expirados liberados: {}", released);
+        if (released > 0) log.info("Holds expirados liberados por barrido: {}", released);
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.encuentro.tickets.jobs;
+
+import com.encuentro.tickets.services.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyCleanupJob {
+
+    private final IdempotencyService service;
+
+    @Scheduled(fixedDelay = 3600000) // cada hora
+    public void cleanup() {
+        int eliminadas = service.purgarVencidas();
+        if (eliminadas > 0) log.info("Claves de idempotencia vencidas eliminadas: {}", eliminadas);
+    }
+}
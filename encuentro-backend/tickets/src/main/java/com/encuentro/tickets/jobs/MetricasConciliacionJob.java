@@ -0,0 +1,22 @@
+package com.encuentro.tickets.jobs;
+
+import com.encuentro.tickets.services.MetricasVentas;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MetricasConciliacionJob {
+
+    private final MetricasVentas metricas;
+
+    // Corrige desvíos de los acumulados en memoria contra la BD (días ya cerrados)
+    @Scheduled(fixedDelayString = "${tickets.metricas.conciliacion-ms:900000}")
+    public void conciliar() {
+        int corregidos = metricas.conciliar();
+        if (corregidos > 0) log.warn("Métricas de ventas corregidas contra la BD: {} días", corregidos);
+    }
+}
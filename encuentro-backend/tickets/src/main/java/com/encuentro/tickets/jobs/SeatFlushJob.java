@@ -0,0 +1,21 @@
+package com.encuentro.tickets.jobs;
+
+import com.encuentro.tickets.services.SeatInventory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatFlushJob {
+
+    private final SeatInventory inventario;
+
+    @Scheduled(fixedDelayString = "${tickets.inventario.flush-ms:200}")
+    public void flush() {
+        int escritos = inventario.flush();
+        if (escritos > 0) log.debug("Asientos persistidos: {}", escritos);
+    }
+}
@@ -0,0 +1,25 @@
+package com.encuentro.tickets.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "compra_idempotente")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CompraIdempotente {
+
+    @Id
+    @Column(length = 100)
+    private String clave; // cabecera Idempotency-Key
+
+    @Column(nullable = false, length = 500)
+    private String huella; // evento, asientos y cédula de la compra original
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String respuesta; // FacturaResponse en JSON
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
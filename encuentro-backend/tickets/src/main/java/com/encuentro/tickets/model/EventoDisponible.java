@@ -3,6 +3,10 @@ package com.encuentro.tickets.model;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
 @Entity
 @Table(name = "evento_disponible")
 @Data
@@ -14,4 +18,14 @@ public class EventoDisponible {
     private Long idEvento;
     private int capacidad;
 
+    // Copia de catálogo recibida de ms-eventos por eventos.cola (para la tarjeta del evento)
+    private String nombre;
+    private Long idCiudad;
+    private String ciudad;
+    private String establecimiento;
+    private LocalDate fecha;
+    private LocalTime hora;
+    @Column(precision = 10, scale = 2)
+    private BigDecimal precio;
+
 }
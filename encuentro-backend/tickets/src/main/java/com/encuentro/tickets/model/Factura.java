@@ -13,7 +13,7 @@ import java.util.*;
 public class Factura {
 
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false) private String nombre;
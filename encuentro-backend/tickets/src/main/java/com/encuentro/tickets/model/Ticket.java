@@ -13,7 +13,7 @@ import java.util.UUID;
 public class Ticket {
 
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
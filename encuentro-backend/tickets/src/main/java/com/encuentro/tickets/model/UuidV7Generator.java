@@ -0,0 +1,49 @@
+package com.encuentro.tickets.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// UUID v7 (RFC 9562): 48 bits de epoch en ms, 12 bits de contador dentro del mismo ms
+// (mantiene el orden) y 62 bits aleatorios
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final Object LOCK = new Object();
+    private static long ultimoMs;
+    private static long contador;
+
+    public static UUID siguiente() {
+        long ms;
+        long seq;
+        synchronized (LOCK) {
+            ms = System.currentTimeMillis();
+            if (ms > ultimoMs) {
+                ultimoMs = ms;
+                contador = 0;
+            } else if (++contador > 0xFFF) {
+                ultimoMs++;
+                contador = 0;
+            }
+            ms = ultimoMs;
+            seq = contador;
+        }
+        long msb = (ms << 16) | 0x7000L | seq;
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return siguiente();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -15,9 +15,68 @@ public interface AsientoRepository extends JpaRepository<Asiento, UUID> {
 
     Optional<Asiento> findByEventoIdEventoAndNumero(Long idEvento, Integer numero);
 
+    List<Asiento> findByEventoIdEventoAndNumeroIn(Long idEvento, Collection<Integer> numeros);
+
+    @Query("select a.estado, count(a) from Asiento a where a.evento.idEvento = :idEvento group by a.estado")
+    List<Object[]> contarPorEstado(Long idEvento);
+
+    @Query("select a.evento.idEvento, a.estado, count(a) from Asiento a where a.evento.idEvento in :idsEvento " +
+            "group by a.evento.idEvento, a.estado")
+    List<Object[]> contarPorEventoYEstado(Collection<Long> idsEvento);
+
+    @Query("select distinct a.evento.idEvento from Asiento a")
+    List<Long> findEventosConAsientos();
+
+    @Modifying
+    @Query("update Asiento a set a.estado = :estado, a.holdUntil = :holdUntil, a.version = a.version + 1 " +
+            "where a.evento.idEvento = :idEvento and a.numero in :numeros")
+    int updateEstado(Long idEvento, Collection<Integer> numeros, SeatStatus estado, Instant holdUntil);
+
+    // Reserva en bloque: solo toca asientos libres o con HOLD vencido
+    @Modifying(flushAutomatically = true)
+    @Query("update Asiento a set a.estado = 'HOLD', a.holdUntil = :holdUntil, a.version = a.version + 1 " +
+            "where a.evento.idEvento = :idEvento and a.numero in :numeros " +
+            "and (a.estado = 'AVAILABLE' or (a.estado = 'HOLD' and a.holdUntil < :now))")
+    int holdSeats(Long idEvento, Collection<Integer> numeros, Instant holdUntil, Instant now);
+
+    @Modifying
+    @Query("update Asiento a set a.estado = 'PURCHASED', a.holdUntil = null, a.version = a.version + 1 " +
+            "where a.evento.idEvento = :idEvento and a.numero in :numeros " +
+            "and a.estado = 'HOLD' and a.holdUntil >= :now")
+    int purchaseSeats(Long idEvento, Collection<Integer> numeros, Instant now);
+
     @Modifying
     @Query("update Asiento a set a.estado='AVAILABLE', a.holdUntil=null where a.estado='HOLD' and a.holdUntil < :now")
     int releaseExpired(Instant now);
 
-    long countByEventoIdEventoAndEstado(Long idEvento, SeatStatus estado);
+    // Igual que releaseExpired pero devuelve (id_evento, numero) de cada asiento liberado
+    @Query(value = "update asiento set estado = 'AVAILABLE', hold_until = null, version = version + 1 " +
+            "where estado = 'HOLD' and hold_until < :now returning id_evento, numero", nativeQuery = true)
+    List<Object[]> releaseExpiredReturning(Instant now);
+
+    // Liberación puntual de los asientos de un hold vencido; devuelve los números liberados
+    @Query(value = "update asiento set estado = 'AVAILABLE', hold_until = null, version = version + 1 " +
+            "where id_evento = :idEvento and numero in (:numeros) and estado = 'HOLD' and hold_until < :now " +
+            "returning numero", nativeQuery = true)
+    List<Integer> releaseExpiredSeats(Long idEvento, Collection<Integer> numeros, Instant now);
+
+    // Una sola agregación por evento: capacidad, filas dentro de 1..capacidad y filas libres
+    // por encima de ella (las ocupadas fuera de capacidad se conservan hasta que se liberen)
+    @Query("select e.idEvento, e.capacidad, " +
+            "coalesce(sum(case when a.numero <= e.capacidad then 1 else 0 end), 0), " +
+            "coalesce(sum(case when a.numero > e.capacidad and a.estado = 'AVAILABLE' then 1 else 0 end), 0) " +
+            "from EventoDisponible e left join Asiento a on a.evento = e group by e.idEvento, e.capacidad")
+    List<Object[]> resumenMaterializacion();
+
+    // Genera las filas que faltan en una sola sentencia (sin un INSERT por asiento)
+    @Modifying
+    @Query(value = "insert into asiento (id, id_evento, numero, estado, version) " +
+            "select gen_random_uuid(), :idEvento, n, 'AVAILABLE', 0 from generate_series(:desde, :hasta) as n " +
+            "on conflict (id_evento, numero) do nothing", nativeQuery = true)
+    int crearAsientos(Long idEvento, int desde, int hasta);
+
+    // Al reducir capacidad solo se eliminan los asientos libres que sobran
+    @Modifying
+    @Query("delete from Asiento a where a.evento.idEvento = :idEvento and a.numero > :capacidad and a.estado = 'AVAILABLE'")
+    int eliminarSobreCapacidad(Long idEvento, int capacidad);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.encuentro.tickets.repository;
+
+import com.encuentro.tickets.model.CompraIdempotente;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+
+public interface CompraIdempotenteRepository extends JpaRepository<CompraIdempotente, String> {
+
+    @Modifying
+    @Query("delete from CompraIdempotente c where c.createdAt < :limite")
+    int deleteVencidas(Instant limite);
+}
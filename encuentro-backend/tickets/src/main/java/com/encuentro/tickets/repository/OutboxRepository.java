@@ -0,0 +1,24 @@
+package com.encuentro.tickets.repository;
+
+import com.encuentro.tickets.model.OutboxMensaje;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxMensaje, Long> {
+
+    // Reclama un lote marcándolo hasta :hasta; SKIP LOCKED: varias instancias pueden publicar sin
+    // tomar los mismos mensajes. Un relay caído deja vencer el reclamo y otro lo retoma.
+    @Query(value = "update outbox_mensaje set reclamado_hasta = :hasta where id in (" +
+            "select id from outbox_mensaje where reclamado_hasta is null or reclamado_hasta < :ahora " +
+            "order by id limit :limite for update skip locked) returning *", nativeQuery = true)
+    List<OutboxMensaje> reclamarPendientes(int limite, Instant ahora, Instant hasta);
+
+    @Modifying
+    @Query("update OutboxMensaje m set m.reclamadoHasta = null where m.id in :ids")
+    int liberar(Collection<Long> ids);
+}
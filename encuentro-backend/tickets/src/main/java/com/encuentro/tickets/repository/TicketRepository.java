@@ -2,8 +2,13 @@ package com.encuentro.tickets.repository;
 
 import com.encuentro.tickets.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.UUID;
 
-public interface TicketRepository extends JpaRepository<Ticket, UUID> { }
+public interface TicketRepository extends JpaRepository<Ticket, UUID> {
 
+    @Query("select t.asiento.numero from Ticket t where t.evento.idEvento = :idEvento")
+    List<Integer> numerosVendidos(Long idEvento);
+}
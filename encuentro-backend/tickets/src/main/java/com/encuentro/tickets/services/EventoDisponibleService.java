@@ -1,18 +1,38 @@
 package com.encuentro.tickets.services;
 
+import com.encuentro.tickets.dto.EventoColaDTO;
+import com.encuentro.tickets.dto.TarjetaEventoDTO;
 import com.encuentro.tickets.model.EventoDisponible;
 import com.encuentro.tickets.repository.EventoDisponibleRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class EventoDisponibleService {
 
     private final EventoDisponibleRepository repository;
+    private final SeatInventory seatInventory;
 
-    public EventoDisponibleService(EventoDisponibleRepository repository) {
+    // Catálogo en memoria para las tarjetas; se actualiza con cada save/delete y, en todas las
+    // instancias, con la copia de cada cambio que llega por su propia cola (CatalogoTarjetasConsumer)
+    private final Map<Long, EventoDisponible> catalogo = new ConcurrentHashMap<>();
+
+    public EventoDisponibleService(EventoDisponibleRepository repository, SeatInventory seatInventory) {
         this.repository = repository;
+        this.seatInventory = seatInventory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarCatalogo() {
+        repository.findAll().forEach(e -> catalogo.putIfAbsent(e.getIdEvento(), e));
     }
 
     public List<EventoDisponible> findAll() {
@@ -20,7 +40,16 @@ public class EventoDisponibleService {
     }
 
     public EventoDisponible save(EventoDisponible evento) {
-        return repository.save(evento);
+        // La capacidad previa se toma de la BD: el catálogo pudo actualizarse ya con este mismo cambio
+        Integer capacidadPrevia = repository.findById(evento.getIdEvento()).map(EventoDisponible::getCapacidad).orElse(null);
+        EventoDisponible guardado = repository.save(evento);
+        // Los asientos se materializan al crear o cambiar la capacidad, no en el primer hold;
+        // un cambio solo de catálogo no toca el mapa de asientos
+        if (capacidadPrevia == null || capacidadPrevia != guardado.getCapacidad()) {
+            seatInventory.sincronizar(guardado.getIdEvento(), guardado.getCapacidad());
+        }
+        catalogo.put(guardado.getIdEvento(), guardado);
+        return guardado;
     }
 
     public EventoDisponible findById(Long id) {
@@ -28,10 +57,71 @@ public class EventoDisponibleService {
     }
 
     public void delete(Long id) {
+        seatInventory.descartar(id);
         repository.deleteById(id);
+        catalogo.remove(id);
     }
     
     public void deleteById(Long id) {
+        seatInventory.descartar(id);
         repository.deleteById(id);
+        catalogo.remove(id);
+    }
+
+    // Aplica un mensaje de eventos.exchange solo al catálogo (sin BD ni asientos). Se reemplaza la
+    // entrada por una copia para no modificar un objeto que otra petición puede estar leyendo
+    public void aplicarCambio(EventoColaDTO dto) {
+        if (dto.getIdEvento() == null) return;
+        if ("ELIMINAR".equalsIgnoreCase(dto.getOperacion())) {
+            catalogo.remove(dto.getIdEvento());
+            return;
+        }
+        catalogo.compute(dto.getIdEvento(), (id, actual) -> {
+            EventoDisponible e = actual != null
+                    ? new EventoDisponible(id, actual.getCapacidad(), actual.getNombre(), actual.getIdCiudad(),
+                            actual.getCiudad(), actual.getEstablecimiento(), actual.getFecha(), actual.getHora(),
+                            actual.getPrecio())
+                    : new EventoDisponible();
+            e.setIdEvento(id);
+            if (dto.getCapacidad() != null) e.setCapacidad(dto.getCapacidad());
+            // Mensajes anteriores solo traían id y capacidad: no se pisan datos de catálogo con null
+            if (dto.getNombre() != null) {
+                e.setNombre(dto.getNombre());
+                e.setIdCiudad(dto.getIdCiudad());
+                e.setCiudad(dto.getCiudad());
+                e.setEstablecimiento(dto.getEstablecimiento());
+                e.setFecha(dto.getFecha());
+                e.setHora(dto.getHora());
+                e.setPrecio(dto.getPrecio());
+            }
+            return e;
+        });
+    }
+
+    public TarjetaEventoDTO tarjeta(Long idEvento) {
+        EventoDisponible evento = catalogo.get(idEvento);
+        if (evento == null) throw new NoSuchElementException("Evento no encontrado");
+        return tarjeta(evento);
+    }
+
+    // Conteos de los mapas ya cargados más una sola agregación para el resto (no carga mapas)
+    public List<TarjetaEventoDTO> tarjetas() {
+        List<EventoDisponible> eventos = new ArrayList<>(catalogo.values());
+        Map<Long, SeatMap.Conteo> conteos = seatInventory.conteos(eventos.stream().map(EventoDisponible::getIdEvento).toList());
+        return eventos.stream()
+                .sorted(Comparator.comparing(EventoDisponible::getFecha, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(EventoDisponible::getIdEvento))
+                .map(e -> tarjeta(e, conteos.getOrDefault(e.getIdEvento(), new SeatMap.Conteo(0, 0, 0))))
+                .toList();
+    }
+
+    private TarjetaEventoDTO tarjeta(EventoDisponible e) {
+        return tarjeta(e, seatInventory.conteo(e.getIdEvento()));
+    }
+
+    private TarjetaEventoDTO tarjeta(EventoDisponible e, SeatMap.Conteo conteo) {
+        return new TarjetaEventoDTO(e.getIdEvento(), e.getNombre(), e.getIdCiudad(), e.getCiudad(),
+                e.getEstablecimiento(), e.getFecha(), e.getHora(), e.getPrecio(), e.getCapacidad(),
+                conteo.disponibles(), conteo.retenidos(), conteo.vendidos());
     }
 }
@@ -0,0 +1,47 @@
+package com.encuentro.tickets.services;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Vencimientos de HOLD ordenados por instante exacto; se programan al crear cada hold
+@Component
+public class HoldExpiryQueue {
+
+    public record Vencimiento(Long idEvento, List<Integer> numeros, long hasta) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(hasta - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed otro) {
+            return Long.compare(hasta, ((Vencimiento) otro).hasta);
+        }
+    }
+
+    private final DelayQueue<Vencimiento> cola = new DelayQueue<>();
+
+    public void programar(Long idEvento, List<Integer> numeros, long hasta) {
+        cola.put(new Vencimiento(idEvento, List.copyOf(numeros), hasta));
+    }
+
+    // Saca todos los vencimientos cumplidos agrupados por evento
+    public Map<Long, Set<Integer>> vencidos() {
+        List<Vencimiento> lote = new ArrayList<>();
+        cola.drainTo(lote);
+        Map<Long, Set<Integer>> porEvento = new HashMap<>();
+        for (Vencimiento v : lote) {
+            porEvento.computeIfAbsent(v.idEvento(), k -> new TreeSet<>()).addAll(v.numeros());
+        }
+        return porEvento;
+    }
+
+    public int pendientes() {
+        return cola.size();
+    }
+}
@@ -0,0 +1,143 @@
+package com.encuentro.tickets.services;
+
+import com.encuentro.tickets.dto.FacturaResponse;
+import com.encuentro.tickets.dto.PurchaseRequest;
+import com.encuentro.tickets.model.CompraIdempotente;
+import com.encuentro.tickets.repository.CompraIdempotenteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Compras idempotentes por cabecera Idempotency-Key: caché LRU acotada con TTL en memoria
+// y tabla compra_idempotente como respaldo (sobrevive a reinicios y a varias instancias)
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private record Entrada(String huella, FacturaResponse respuesta, long expira) {}
+
+    private final CompraIdempotenteRepository repo;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tickets.idempotencia.max-entradas:10000}")
+    private int maxEntradas;
+
+    @Value("${tickets.idempotencia.ttl:PT24H}")
+    private Duration ttl;
+
+    private final Map<String, Entrada> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+            return size() > maxEntradas;
+        }
+    };
+
+    private final Map<String, Boolean> enCurso = new ConcurrentHashMap<>();
+
+    // Devuelve la respuesta ya emitida para la clave o marca la clave como en curso
+    public Optional<FacturaResponse> iniciar(String clave, PurchaseRequest req) {
+        if (clave.length() > 100) {
+            throw new IllegalArgumentException("Idempotency-Key demasiado larga (máx. 100)");
+        }
+        String huella = huella(req);
+
+        FacturaResponse previa = buscar(clave, huella);
+        if (previa != null) return Optional.of(previa);
+
+        if (enCurso.putIfAbsent(clave, Boolean.TRUE) != null) {
+            throw new IllegalStateException("Ya hay una compra en proceso con esta Idempotency-Key");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    enCurso.remove(clave);
+                }
+            });
+        } else {
+            enCurso.remove(clave);
+        }
+        return Optional.empty();
+    }
+
+    // Se guarda en la misma transacción que la factura; la caché solo se llena al confirmar
+    public void registrar(String clave, PurchaseRequest req, FacturaResponse respuesta) {
+        String huella = huella(req);
+        try {
+            repo.save(CompraIdempotente.builder()
+                    .clave(clave)
+                    .huella(huella)
+                    .respuesta(objectMapper.writeValueAsString(respuesta))
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta de la compra", e);
+        }
+
+        Entrada entrada = new Entrada(huella, respuesta, System.currentTimeMillis() + ttl.toMillis());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guardarEnCache(clave, entrada);
+                }
+            });
+        } else {
+            guardarEnCache(clave, entrada);
+        }
+    }
+
+    @Transactional
+    public int purgarVencidas() {
+        return repo.deleteVencidas(Instant.now().minus(ttl));
+    }
+
+    private FacturaResponse buscar(String clave, String huella) {
+        Entrada entrada;
+        synchronized (cache) {
+            entrada = cache.get(clave);
+            if (entrada != null && entrada.expira() < System.currentTimeMillis()) {
+                cache.remove(clave);
+                entrada = null;
+            }
+        }
+        if (entrada == null) {
+            CompraIdempotente guardada = repo.findById(clave).orElse(null);
+            if (guardada == null || guardada.getCreatedAt().plus(ttl).isBefore(Instant.now())) return null;
+            try {
+                entrada = new Entrada(guardada.getHuella(),
+                        objectMapper.readValue(guardada.getRespuesta(), FacturaResponse.class),
+                        guardada.getCreatedAt().plus(ttl).toEpochMilli());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Respuesta guardada ilegible para la Idempotency-Key " + clave, e);
+            }
+            guardarEnCache(clave, entrada);
+        }
+        if (!entrada.huella().equals(huella)) {
+            throw new IllegalStateException("La Idempotency-Key ya se usó para otra compra");
+        }
+        return entrada.respuesta();
+    }
+
+    private void guardarEnCache(String clave, Entrada entrada) {
+        synchronized (cache) {
+            cache.put(clave, entrada);
+        }
+    }
+
+    private String huella(PurchaseRequest req) {
+        return req.idEvento() + "|" + req.asientos() + "|" + req.cedula();
+    }
+}
@@ -0,0 +1,133 @@
+package com.encuentro.tickets.services;
+
+import com.encuentro.tickets.repository.FacturaRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Métricas de ventas en memoria: un acumulado por día UTC (tickets, facturas, ingresos en
+// centavos) que se incrementa al confirmar cada compra. Las consultas suman días sin ir a la BD.
+// Como el inventario de asientos, supone una sola instancia de tickets vendiendo.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetricasVentas {
+
+    private final FacturaRepository facturaRepo;
+
+    private final ConcurrentSkipListMap<LocalDate, Dia> dias = new ConcurrentSkipListMap<>();
+
+    public record Totales(long tickets, long facturas, BigDecimal ingresos) {}
+
+    private static final class Dia {
+        final LongAdder tickets = new LongAdder();
+        final LongAdder facturas = new LongAdder();
+        final LongAdder centavos = new LongAdder();
+    }
+
+    // Se carga antes de que el servidor web acepte peticiones: ninguna compra queda fuera
+    @PostConstruct
+    public void cargar() {
+        Map<LocalDate, Dia> leidos = leer(Instant.now().plusSeconds(86_400));
+        dias.putAll(leidos);
+        log.info("Métricas de ventas cargadas: {} días", leidos.size());
+    }
+
+    // Dentro de una transacción el incremento se aplica solo si la compra se confirma
+    public void registrarAlConfirmar(Instant fecha, int tickets, BigDecimal total) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            registrar(fecha, tickets, total);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                registrar(fecha, tickets, total);
+            }
+        });
+    }
+
+    // Recalcula desde la BD los días ya cerrados (antes de hoy en UTC): ya no reciben compras,
+    // así que reemplazarlos no pisa incrementos en curso. Hoy sigue siendo incremental.
+    @Transactional(readOnly = true)
+    public int conciliar() {
+        LocalDate hoy = LocalDate.now(ZoneOffset.UTC);
+        Map<LocalDate, Dia> leidos = leer(hoy.atStartOfDay().toInstant(ZoneOffset.UTC));
+
+        int corregidos = 0;
+        for (Map.Entry<LocalDate, Dia> e : leidos.entrySet()) {
+            Dia actual = dias.get(e.getKey());
+            if (actual == null || !iguales(actual, e.getValue())) {
+                dias.put(e.getKey(), e.getValue());
+                corregidos++;
+            }
+        }
+        for (LocalDate dia : dias.headMap(hoy).keySet()) {
+            if (!leidos.containsKey(dia) && dias.remove(dia) != null) corregidos++;
+        }
+        return corregidos;
+    }
+
+    // Rango de días inclusivo; null = sin límite
+    public Totales totales(LocalDate desde, LocalDate hasta) {
+        NavigableMap<LocalDate, Dia> rango = dias;
+        if (desde != null) rango = rango.tailMap(desde, true);
+        if (hasta != null) rango = rango.headMap(hasta, true);
+
+        long tickets = 0, facturas = 0, centavos = 0;
+        for (Dia d : rango.values()) {
+            tickets += d.tickets.sum();
+            facturas += d.facturas.sum();
+            centavos += d.centavos.sum();
+        }
+        return new Totales(tickets, facturas, BigDecimal.valueOf(centavos, 2));
+    }
+
+    private void registrar(Instant fecha, int tickets, BigDecimal total) {
+        Dia dia = dias.computeIfAbsent(LocalDate.ofInstant(fecha, ZoneOffset.UTC), k -> new Dia());
+        dia.tickets.add(tickets);
+        dia.facturas.increment();
+        dia.centavos.add(centavos(total));
+    }
+
+    private Map<LocalDate, Dia> leer(Instant hasta) {
+        Map<LocalDate, Dia> leidos = new HashMap<>();
+        for (Object[] fila : facturaRepo.resumenFacturasPorDia(hasta)) {
+            Dia d = leidos.computeIfAbsent(fecha(fila[0]), k -> new Dia());
+            d.facturas.add(((Number) fila[1]).longValue());
+            d.centavos.add(centavos((BigDecimal) fila[2]));
+        }
+        for (Object[] fila : facturaRepo.resumenTicketsPorDia(hasta)) {
+            leidos.computeIfAbsent(fecha(fila[0]), k -> new Dia()).tickets.add(((Number) fila[1]).longValue());
+        }
+        return leidos;
+    }
+
+    private static boolean iguales(Dia a, Dia b) {
+        return a.tickets.sum() == b.tickets.sum()
+                && a.facturas.sum() == b.facturas.sum()
+                && a.centavos.sum() == b.centavos.sum();
+    }
+
+    private static long centavos(BigDecimal monto) {
+        return monto.movePointRight(2).longValue();
+    }
+
+    private static LocalDate fecha(Object valor) {
+        return valor instanceof java.sql.Date d ? d.toLocalDate() : (LocalDate) valor;
+    }
+}
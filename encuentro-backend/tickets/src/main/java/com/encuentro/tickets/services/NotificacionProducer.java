@@ -1,26 +1,16 @@
 package com.encuentro.tickets.services;
 
 import com.encuentro.tickets.dto.NotificacionesDTO;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.beans.factory.annotation.Autowired;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 @Service
+@RequiredArgsConstructor
 public class NotificacionProducer {
-    @Autowired
-    private RabbitTemplate rabbitTemplate;
 
-    @Autowired
-    private ObjectMapper objectMapper;
+    private final OutboxPublisher outbox;
 
     public void enviarNotificacion(NotificacionesDTO notificacionesDTO) {
-        try{
-            String json = objectMapper.writeValueAsString(notificacionesDTO);
-            rabbitTemplate.convertAndSend("notificaciones.cola", json);
-        }catch (Exception e)
-        {
-            e.printStackTrace();
-        }
+        outbox.publicar("notificaciones.cola", notificacionesDTO);
     }
-}
\ No newline at end of file
+}
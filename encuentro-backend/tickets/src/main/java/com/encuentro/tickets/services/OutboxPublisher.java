@@ -0,0 +1,32 @@
+package com.encuentro.tickets.services;
+
+import com.encuentro.tickets.model.OutboxMensaje;
+import com.encuentro.tickets.repository.OutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+// Encola un mensaje en la tabla outbox (dentro de la transacción en curso, si la hay);
+// OutboxRelay lo publica en RabbitMQ después del commit
+@Service
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void publicar(String cola, Object mensaje) {
+        try {
+            outboxRepository.save(OutboxMensaje.builder()
+                    .cola(cola)
+                    .payload(objectMapper.writeValueAsString(mensaje))
+                    .createdAt(Instant.now())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el mensaje para " + cola, e);
+        }
+    }
+}
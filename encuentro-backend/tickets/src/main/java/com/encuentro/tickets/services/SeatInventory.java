@@ -0,0 +1,254 @@
+package com.encuentro.tickets.services;
+
+import com.encuentro.tickets.model.SeatStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Inventario de asientos en memoria: es la autoridad de AVAILABLE/HOLD/PURCHASED
+// mientras el servicio está arriba. La tabla asiento se actualiza en lotes (write-behind)
+// desde SeatFlushJob. Supone una sola instancia de tickets escribiendo asientos; con
+// tickets.inventario.en-memoria=false la BD es la autoridad (UPDATE condicional en bloque).
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatInventory {
+
+    private final SeatInventoryStore store;
+    private final HoldExpiryQueue vencimientos;
+
+    @Value("${tickets.inventario.en-memoria:true}")
+    private boolean enMemoria;
+
+    private final Map<Long, SeatMap> mapas = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Integer>> pendientes = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        int sincronizados = store.sincronizarTodos();
+        if (sincronizados > 0) log.info("Asientos materializados al iniciar para {} eventos", sincronizados);
+        if (!enMemoria) return;
+        for (Long idEvento : store.eventosConAsientos()) {
+            try {
+                mapas.put(idEvento, cargar(idEvento));
+            } catch (Exception e) {
+                log.warn("No se pudo cargar el mapa de asientos del evento {}: {}", idEvento, e.getMessage());
+            }
+        }
+        log.info("Inventario de asientos reconstruido: {} eventos", mapas.size());
+    }
+
+    public SeatMap mapa(Long idEvento) {
+        return mapas.computeIfAbsent(idEvento, this::cargar);
+    }
+
+    // Mapa solo si ya está cargado (no consulta la BD)
+    public SeatMap mapaCargado(Long idEvento) {
+        return mapas.get(idEvento);
+    }
+
+    // Con la BD como autoridad se arma un mapa nuevo en cada consulta (sin caché)
+    public SeatMap.Snapshot snapshot(Long idEvento) {
+        SeatMap mapa = enMemoria ? mapa(idEvento) : store.cargar(idEvento);
+        return mapa.snapshot();
+    }
+
+    // Contadores mantenidos en cada transición si el mapa ya está cargado; si no, se agrupa en la
+    // BD sin cargar el mapa (un mapa no cargado no tiene cambios pendientes de escribir)
+    public SeatMap.Conteo conteo(Long idEvento) {
+        SeatMap mapa = enMemoria ? mapas.get(idEvento) : null;
+        return mapa != null ? mapa.conteo() : store.conteo(idEvento);
+    }
+
+    // Igual que conteo pero para varios eventos: una sola agregación para los que no están en memoria
+    public Map<Long, SeatMap.Conteo> conteos(Collection<Long> idsEvento) {
+        Map<Long, SeatMap.Conteo> conteos = new HashMap<>();
+        List<Long> sinMapa = new ArrayList<>();
+        for (Long idEvento : idsEvento) {
+            SeatMap mapa = enMemoria ? mapas.get(idEvento) : null;
+            if (mapa != null) conteos.put(idEvento, mapa.conteo());
+            else sinMapa.add(idEvento);
+        }
+        if (!sinMapa.isEmpty()) conteos.putAll(store.conteos(sinMapa));
+        return conteos;
+    }
+
+    public void hold(Long idEvento, List<Integer> numeros, Instant hasta) {
+        if (!enMemoria) {
+            store.holdEnBd(idEvento, numeros, hasta, Instant.now());
+        } else {
+            conMapa(idEvento, mapa -> {
+                mapa.hold(numeros, hasta.toEpochMilli(), System.currentTimeMillis());
+                marcar(idEvento, numeros);
+                return null;
+            });
+        }
+        vencimientos.programar(idEvento, numeros, hasta.toEpochMilli());
+    }
+
+    // PURCHASED no es write-behind: se escribe en asiento dentro de la transacción de la compra
+    // (junto con los tickets). Si la transacción falla, el mapa vuelve al HOLD previo.
+    public void purchase(Long idEvento, List<Integer> numeros, Instant ahora) {
+        if (!enMemoria) {
+            store.purchaseEnBd(idEvento, numeros, ahora);
+            return;
+        }
+        SeatMap[] usado = new SeatMap[1];
+        long[] previos = conMapa(idEvento, mapa -> {
+            usado[0] = mapa;
+            return mapa.purchase(numeros, ahora.toEpochMilli());
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) return;
+                    // Si el mapa se descartó mientras tanto, el recargado ya viene de la BD revertida
+                    SeatMap mapa = usado[0];
+                    synchronized (mapa) {
+                        if (mapas.get(idEvento) != mapa) return;
+                        mapa.revertirPurchase(numeros, previos);
+                        // Un flush intermedio pudo omitir el HOLD de estos asientos
+                        marcar(idEvento, numeros);
+                    }
+                }
+            });
+        }
+        store.marcarVendidos(idEvento, numeros);
+    }
+
+    // Libera los asientos de holds cuyo vencimiento ya se cumplió (cola de vencimientos)
+    public List<Integer> liberarVencidos(Long idEvento, Collection<Integer> numeros, Instant ahora) {
+        if (!enMemoria) {
+            return store.liberarVencidosEnBd(idEvento, numeros, ahora);
+        }
+        SeatMap mapa = mapas.get(idEvento);
+        if (mapa == null) return List.of();
+        synchronized (mapa) {
+            if (mapas.get(idEvento) != mapa) return List.of();
+            List<Integer> liberados = mapa.liberarVencidos(numeros, ahora.toEpochMilli());
+            if (!liberados.isEmpty()) marcar(idEvento, liberados);
+            return liberados;
+        }
+    }
+
+    // Barrido completo de HOLD vencidos (red de seguridad): id de evento -> asientos liberados
+    public Map<Long, List<Integer>> liberarVencidos(Instant ahora) {
+        Map<Long, List<Integer>> liberados = new HashMap<>();
+        if (!enMemoria) {
+            for (Object[] fila : store.liberarVencidosEnBd(ahora)) {
+                Long idEvento = ((Number) fila[0]).longValue();
+                liberados.computeIfAbsent(idEvento, k -> new ArrayList<>()).add(((Number) fila[1]).intValue());
+            }
+            return liberados;
+        }
+        mapas.forEach((idEvento, mapa) -> {
+            synchronized (mapa) {
+                if (mapas.get(idEvento) != mapa) return;
+                List<Integer> numeros = mapa.liberarVencidos(ahora.toEpochMilli());
+                if (!numeros.isEmpty()) {
+                    marcar(idEvento, numeros);
+                    liberados.put(idEvento, numeros);
+                }
+            }
+        });
+        return liberados;
+    }
+
+    // Alta o cambio de capacidad: ajusta las filas de asiento y recarga el mapa en el próximo acceso.
+    // Se descarta de nuevo al final por si un hold recargó el mapa con la capacidad anterior.
+    public void sincronizar(Long idEvento, int capacidad) {
+        descartar(idEvento);
+        store.sincronizarAsientos(idEvento, capacidad);
+        descartar(idEvento);
+    }
+
+    // Persiste lo pendiente del evento y lo saca de memoria. Bajo el monitor del mapa: ninguna
+    // operación puede marcar cambios entre el flush y la salida del mapa.
+    public synchronized void descartar(Long idEvento) {
+        SeatMap mapa = mapas.get(idEvento);
+        if (mapa == null) return;
+        synchronized (mapa) {
+            flush(idEvento);
+            mapas.remove(idEvento, mapa);
+        }
+    }
+
+    public synchronized int flush() {
+        int escritos = 0;
+        for (Long idEvento : new ArrayList<>(pendientes.keySet())) {
+            escritos += flush(idEvento);
+        }
+        return escritos;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        int escritos = flush();
+        if (escritos > 0) log.info("Asientos pendientes persistidos al cerrar: {}", escritos);
+    }
+
+    // Aplica la operación bajo el monitor del mapa, solo si sigue siendo el mapa vigente del evento
+    // (un mapa descartado en paralelo se vuelve a pedir)
+    private <T> T conMapa(Long idEvento, Function<SeatMap, T> operacion) {
+        while (true) {
+            SeatMap mapa = mapa(idEvento);
+            synchronized (mapa) {
+                if (mapas.get(idEvento) == mapa) return operacion.apply(mapa);
+            }
+        }
+    }
+
+    // Carga el mapa desde la BD y reprograma los HOLD que sigan vigentes
+    private SeatMap cargar(Long idEvento) {
+        SeatMap mapa = store.cargar(idEvento);
+        mapa.holdsPorVencimiento().forEach((hasta, numeros) -> vencimientos.programar(idEvento, numeros, hasta));
+        return mapa;
+    }
+
+    private synchronized int flush(Long idEvento) {
+        // Sin mapa cargado lo pendiente se conserva (no hay estado que escribir todavía)
+        SeatMap mapa = mapas.get(idEvento);
+        if (mapa == null) return 0;
+        Set<Integer> sucios = pendientes.remove(idEvento);
+        if (sucios == null) return 0;
+
+        // Agrupar por (estado, holdUntil) para escribir con un UPDATE por grupo. PURCHASED ya lo
+        // escribe la compra en su transacción; desde memoria podría no estar confirmado aún.
+        Map<SeatMap.Estado, List<Integer>> cambios = new HashMap<>();
+        for (Integer n : sucios) {
+            SeatMap.Estado estado = mapa.leer(n);
+            if (estado.estado() != SeatStatus.PURCHASED) {
+                cambios.computeIfAbsent(estado, k -> new ArrayList<>()).add(n);
+            }
+        }
+        try {
+            store.persistir(idEvento, cambios);
+            return sucios.size();
+        } catch (Exception e) {
+            log.error("Error persistiendo asientos del evento {}, se reintentará", idEvento, e);
+            marcar(idEvento, sucios);
+            return 0;
+        }
+    }
+
+    private void marcar(Long idEvento, Collection<Integer> numeros) {
+        pendientes.compute(idEvento, (k, set) -> {
+            if (set == null) set = new HashSet<>();
+            set.addAll(numeros);
+            return set;
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package com.encuentro.tickets.services;
+
+import com.encuentro.tickets.model.Asiento;
+import com.encuentro.tickets.model.EventoDisponible;
+import com.encuentro.tickets.model.SeatStatus;
+import com.encuentro.tickets.repository.AsientoRepository;
+import com.encuentro.tickets.repository.EventoDisponibleRepository;
+import com.encuentro.tickets.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// Acceso a BD del inventario de asientos: carga de mapas y escritura diferida
+@Service
+@RequiredArgsConstructor
+public class SeatInventoryStore {
+
+    private static final int MAX_IN = 1000;
+
+    private final EventoDisponibleRepository eventoRepo;
+    private final AsientoRepository asientoRepo;
+    private final TicketRepository ticketRepo;
+
+    @Transactional(readOnly = true)
+    public List<Long> eventosConAsientos() {
+        return asientoRepo.findEventosConAsientos();
+    }
+
+    @Transactional
+    public SeatMap cargar(Long idEvento) {
+        EventoDisponible evento = eventoRepo.findById(idEvento)
+                .orElseThrow(() -> new NoSuchElementException("Evento no encontrado"));
+
+        List<Asiento> asientos = asientoRepo.findByEventoIdEventoOrderByNumero(idEvento);
+        if (asientos.isEmpty()) {
+            sincronizarAsientos(idEvento, evento.getCapacidad());
+            asientos = asientoRepo.findByEventoIdEventoOrderByNumero(idEvento);
+        }
+
+        // Los tickets mandan: un asiento con ticket está vendido aunque su fila no lo refleje
+        Set<Integer> vendidos = new HashSet<>(ticketRepo.numerosVendidos(idEvento));
+        List<Integer> reparar = new ArrayList<>();
+        SeatMap mapa = new SeatMap(evento.getCapacidad());
+        for (Asiento a : asientos) {
+            if (vendidos.contains(a.getNumero()) && a.getEstado() != SeatStatus.PURCHASED) {
+                mapa.cargar(a.getId(), a.getNumero(), SeatStatus.PURCHASED, null);
+                reparar.add(a.getNumero());
+            } else {
+                mapa.cargar(a.getId(), a.getNumero(), a.getEstado(), a.getHoldUntil());
+            }
+        }
+        if (!reparar.isEmpty()) marcarVendidos(idEvento, reparar);
+        return mapa;
+    }
+
+    @Transactional
+    public void marcarVendidos(Long idEvento, List<Integer> numeros) {
+        for (int i = 0; i < numeros.size(); i += MAX_IN) {
+            asientoRepo.updateEstado(idEvento, numeros.subList(i, Math.min(i + MAX_IN, numeros.size())),
+                    SeatStatus.PURCHASED, null);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public SeatMap.Conteo conteo(Long idEvento) {
+        int[] c = new int[SeatStatus.values().length];
+        for (Object[] fila : asientoRepo.contarPorEstado(idEvento)) {
+            c[((SeatStatus) fila[0]).ordinal()] = ((Number) fila[1]).intValue();
+        }
+        return conteo(c);
+    }
+
+    // Un solo GROUP BY (evento, estado) para todos los eventos pedidos
+    @Transactional(readOnly = true)
+    public Map<Long, SeatMap.Conteo> conteos(Collection<Long> idsEvento) {
+        Map<Long, int[]> porEvento = new HashMap<>();
+        for (Long idEvento : idsEvento) porEvento.put(idEvento, new int[SeatStatus.values().length]);
+        List<Long> ids = new ArrayList<>(idsEvento);
+        for (int i = 0; i < ids.size(); i += MAX_IN) {
+            for (Object[] fila : asientoRepo.contarPorEventoYEstado(ids.subList(i, Math.min(i + MAX_IN, ids.size())))) {
+                porEvento.get((Long) fila[0])[((SeatStatus) fila[1]).ordinal()] = ((Number) fila[2]).intValue();
+            }
+        }
+        Map<Long, SeatMap.Conteo> conteos = new HashMap<>();
+        porEvento.forEach((idEvento, c) -> conteos.put(idEvento, conteo(c)));
+        return conteos;
+    }
+
+    private static SeatMap.Conteo conteo(int[] c) {
+        return new SeatMap.Conteo(c[SeatStatus.AVAILABLE.ordinal()], c[SeatStatus.HOLD.ordinal()],
+                c[SeatStatus.PURCHASED.ordinal()]);
+    }
+
+    // Un solo UPDATE condicional: se reservan todos los asientos o ninguno (rollback)
+    @Transactional
+    public void holdEnBd(Long idEvento, List<Integer> numeros, Instant holdUntil, Instant now) {
+        int solicitados = new HashSet<>(numeros).size();
+        int tomados = asientoRepo.holdSeats(idEvento, numeros, holdUntil, now);
+        if (solicitados != numeros.size() || tomados != solicitados) {
+            throw new IllegalStateException("Uno o más asientos no están disponibles: " + numeros);
+        }
+    }
+
+    @Transactional
+    public void purchaseEnBd(Long idEvento, List<Integer> numeros, Instant now) {
+        int solicitados = new HashSet<>(numeros).size();
+        int confirmados = asientoRepo.purchaseSeats(idEvento, numeros, now);
+        if (solicitados != numeros.size() || confirmados != solicitados) {
+            throw new IllegalStateException("Uno o más asientos no están en HOLD o expiraron: " + numeros);
+        }
+    }
+
+    @Transactional
+    public List<Object[]> liberarVencidosEnBd(Instant now) {
+        return asientoRepo.releaseExpiredReturning(now);
+    }
+
+    @Transactional
+    public List<Integer> liberarVencidosEnBd(Long idEvento, Collection<Integer> numeros, Instant now) {
+        return asientoRepo.releaseExpiredSeats(idEvento, numeros, now);
+    }
+
+    @Transactional
+    public void persistir(Long idEvento, Map<SeatMap.Estado, List<Integer>> cambios) {
+        cambios.forEach((estado, numeros) -> {
+            for (int i = 0; i < numeros.size(); i += MAX_IN) {
+                List<Integer> lote = numeros.subList(i, Math.min(i + MAX_IN, numeros.size()));
+                asientoRepo.updateEstado(idEvento, lote, estado.estado(), estado.holdUntil());
+            }
+        });
+    }
+
+    // Deja las filas de asiento alineadas con la capacidad: inserta los números que faltan
+    // en 1..capacidad (también los huecos que dejó una reducción con asientos ocupados)
+    // y elimina los libres que sobran
+    @Transactional
+    public void sincronizarAsientos(Long idEvento, int capacidad) {
+        if (capacidad > 0) asientoRepo.crearAsientos(idEvento, 1, capacidad);
+        asientoRepo.eliminarSobreCapacidad(idEvento, capacidad);
+    }
+
+    // Materializa los asientos de eventos que aún no los tienen (o cuya capacidad cambió)
+    @Transactional
+    public int sincronizarTodos() {
+        int sincronizados = 0;
+        for (Object[] fila : asientoRepo.resumenMaterializacion()) {
+            Long idEvento = (Long) fila[0];
+            int capacidad = ((Number) fila[1]).intValue();
+            int dentro = ((Number) fila[2]).intValue();
+            int libresFuera = ((Number) fila[3]).intValue();
+            if (dentro != capacidad || libresFuera > 0) {
+                sincronizarAsientos(idEvento, capacidad);
+                sincronizados++;
+            }
+        }
+        return sincronizados;
+    }
+}
@@ -0,0 +1,206 @@
+package com.encuentro.tickets.services;
+
+import com.encuentro.tickets.model.SeatStatus;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Estado en memoria de los asientos de un evento, indexado por número (1..capacidad)
+public class SeatMap {
+
+    private static final SeatStatus[] ESTADOS = SeatStatus.values();
+    private static final byte AVAILABLE = (byte) SeatStatus.AVAILABLE.ordinal();
+    private static final byte HOLD = (byte) SeatStatus.HOLD.ordinal();
+    private static final byte PURCHASED = (byte) SeatStatus.PURCHASED.ordinal();
+
+    // Versiones crecientes en todo el proceso: un mapa recargado nunca repite una versión anterior
+    private static final AtomicLong VERSIONES = new AtomicLong(System.currentTimeMillis());
+
+    public record Estado(SeatStatus estado, Instant holdUntil) {}
+
+    // Estados empaquetados a 2 bits por asiento (ordinal de SeatStatus), el asiento n en los
+    // bits 2*(n-1) y 2*(n-1)+1
+    public record Snapshot(long version, int capacidad, byte[] datos) {}
+
+    // Conteo por estado guardado (un HOLD vencido cuenta como retenido hasta que lo libera el job)
+    public record Conteo(int disponibles, int retenidos, int vendidos) {}
+
+    private final int capacidad;
+    private final byte[] estados;   // ordinal de SeatStatus
+    private final long[] holdUntil; // epoch millis, 0 si no está en HOLD
+    private final UUID[] ids;
+    private int retenidos;
+    private int vendidos;
+
+    private long version = VERSIONES.incrementAndGet();
+    private Snapshot snapshot;
+
+    public SeatMap(int capacidad) {
+        this.capacidad = capacidad;
+        this.estados = new byte[capacidad + 1];
+        Arrays.fill(estados, AVAILABLE);
+        this.holdUntil = new long[capacidad + 1];
+        this.ids = new UUID[capacidad + 1];
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public boolean contiene(Integer numero) {
+        return numero != null && numero >= 1 && numero <= capacidad;
+    }
+
+    synchronized void cargar(UUID id, int numero, SeatStatus estado, Instant hasta) {
+        if (!contiene(numero)) return;
+        ids[numero] = id;
+        poner(numero, (byte) estado.ordinal());
+        holdUntil[numero] = hasta != null ? hasta.toEpochMilli() : 0L;
+    }
+
+    public synchronized UUID id(int numero) {
+        return ids[numero];
+    }
+
+    public synchronized Conteo conteo() {
+        return new Conteo(capacidad - retenidos - vendidos, retenidos, vendidos);
+    }
+
+    // Instantánea cacheada; se recalcula solo si hubo transiciones desde la última
+    public synchronized Snapshot snapshot() {
+        if (snapshot == null || snapshot.version() != version) {
+            byte[] datos = new byte[(capacidad + 3) / 4];
+            for (int n = 1; n <= capacidad; n++) {
+                int bit = (n - 1) * 2;
+                datos[bit >> 3] |= (byte) (estados[n] << (bit & 7));
+            }
+            snapshot = new Snapshot(version, capacidad, datos);
+        }
+        return snapshot;
+    }
+
+    // Estado tal como se debe persistir
+    public synchronized Estado leer(int numero) {
+        byte e = estados[numero];
+        return new Estado(ESTADOS[e], e == HOLD ? Instant.ofEpochMilli(holdUntil[numero]) : null);
+    }
+
+    // Estado visible: un HOLD vencido cuenta como disponible
+    public synchronized Estado actual(int numero, long ahora) {
+        if (estados[numero] == HOLD && holdUntil[numero] < ahora) {
+            return new Estado(SeatStatus.AVAILABLE, null);
+        }
+        return leer(numero);
+    }
+
+    // Reserva todos los asientos o ninguno
+    public synchronized void hold(List<Integer> numeros, long hasta, long ahora) {
+        BitSet vistos = new BitSet(capacidad + 1);
+        for (Integer n : numeros) {
+            validar(n);
+            if (vistos.get(n) || actual(n, ahora).estado() != SeatStatus.AVAILABLE) {
+                throw new IllegalStateException("Asiento " + n + " no disponible");
+            }
+            vistos.set(n);
+        }
+        for (Integer n : numeros) {
+            poner(n, HOLD);
+            holdUntil[n] = hasta;
+        }
+        nuevaVersion();
+    }
+
+    // Confirma la compra de todos los asientos o de ninguno; devuelve los holdUntil previos
+    public synchronized long[] purchase(List<Integer> numeros, long ahora) {
+        BitSet vistos = new BitSet(capacidad + 1);
+        for (Integer n : numeros) {
+            validar(n);
+            if (vistos.get(n) || estados[n] != HOLD || holdUntil[n] < ahora) {
+                throw new IllegalStateException("Asiento " + n + " no está en HOLD o expiró");
+            }
+            vistos.set(n);
+        }
+        long[] previos = new long[numeros.size()];
+        for (int i = 0; i < numeros.size(); i++) {
+            int n = numeros.get(i);
+            previos[i] = holdUntil[n];
+            poner(n, PURCHASED);
+            holdUntil[n] = 0L;
+        }
+        nuevaVersion();
+        return previos;
+    }
+
+    // Deshace una compra cuya transacción no llegó a confirmarse
+    public synchronized void revertirPurchase(List<Integer> numeros, long[] previos) {
+        for (int i = 0; i < numeros.size(); i++) {
+            int n = numeros.get(i);
+            if (estados[n] == PURCHASED) {
+                poner(n, HOLD);
+                holdUntil[n] = previos[i];
+            }
+        }
+        nuevaVersion();
+    }
+
+    // Pasa a AVAILABLE los HOLD vencidos y devuelve sus números
+    public synchronized List<Integer> liberarVencidos(long ahora) {
+        List<Integer> liberados = new ArrayList<>();
+        for (int n = 1; n <= capacidad; n++) {
+            if (estados[n] == HOLD && holdUntil[n] < ahora) {
+                poner(n, AVAILABLE);
+                holdUntil[n] = 0L;
+                liberados.add(n);
+            }
+        }
+        if (!liberados.isEmpty()) nuevaVersion();
+        return liberados;
+    }
+
+    // Libera solo los asientos indicados que sigan en HOLD vencido (un re-hold posterior no se toca)
+    public synchronized List<Integer> liberarVencidos(Collection<Integer> numeros, long ahora) {
+        List<Integer> liberados = new ArrayList<>();
+        for (Integer n : numeros) {
+            if (contiene(n) && estados[n] == HOLD && holdUntil[n] < ahora) {
+                poner(n, AVAILABLE);
+                holdUntil[n] = 0L;
+                liberados.add(n);
+            }
+        }
+        if (!liberados.isEmpty()) nuevaVersion();
+        return liberados;
+    }
+
+    // HOLD vigentes agrupados por vencimiento (para reprogramarlos al cargar el mapa)
+    public synchronized Map<Long, List<Integer>> holdsPorVencimiento() {
+        Map<Long, List<Integer>> holds = new HashMap<>();
+        for (int n = 1; n <= capacidad; n++) {
+            if (estados[n] == HOLD) {
+                holds.computeIfAbsent(holdUntil[n], k -> new ArrayList<>()).add(n);
+            }
+        }
+        return holds;
+    }
+
+    // Cambia el estado de un asiento manteniendo los contadores
+    private void poner(int n, byte estado) {
+        byte previo = estados[n];
+        if (previo == estado) return;
+        if (previo == HOLD) retenidos--;
+        else if (previo == PURCHASED) vendidos--;
+        if (estado == HOLD) retenidos++;
+        else if (estado == PURCHASED) vendidos++;
+        estados[n] = estado;
+    }
+
+    private void nuevaVersion() {
+        version = VERSIONES.incrementAndGet();
+    }
+
+    private void validar(Integer numero) {
+        if (!contiene(numero)) {
+            throw new NoSuchElementException("Asiento " + numero + " no existe");
+        }
+    }
+}
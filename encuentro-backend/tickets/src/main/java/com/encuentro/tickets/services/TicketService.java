@@ -3,9 +3,8 @@ package com.encuentro.tickets.services;
 import com.encuentro.tickets.dto.*;
 import com.encuentro.tickets.model.*;
 import com.encuentro.tickets.repository.*;
-import com.encuentro.tickets.ws.SeatUpdateEvent;
+import com.encuentro.tickets.ws.SeatUpdateBroadcaster;
 import lombok.RequiredArgsConstructor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,8 +26,13 @@ public class TicketService {
     private final AsientoRepository asientoRepo;
     private final TicketRepository ticketRepo;
     private final FacturaRepository facturaRepo;
-    private final SimpMessagingTemplate ws;
+    private final SeatUpdateBroadcaster broadcaster;
     private final NotificacionProducer notificacionProducer;
+    private final VentaProducer ventaProducer;
+    private final SeatInventory inventario;
+    private final HoldExpiryQueue vencimientos;
+    private final IdempotencyService idempotencia;
+    private final MetricasVentas metricas;
 
 
     private int holdMinutes=1;
@@ -36,74 +40,62 @@ public class TicketService {
     private  BigDecimal ivaRate = BigDecimal.valueOf(0.12);
 
     public List<SeatView> getAsientos(Long idEvento) {
+        // Con el mapa en memoria no se consulta la tabla asiento (va por delante de la BD)
+        SeatMap mapa = inventario.mapaCargado(idEvento);
+        if (mapa != null) {
+            long ahora = System.currentTimeMillis();
+            List<SeatView> vista = new ArrayList<>(mapa.getCapacidad());
+            for (int n = 1; n <= mapa.getCapacidad(); n++) {
+                SeatMap.Estado e = mapa.actual(n, ahora);
+                vista.add(new SeatView(mapa.id(n), n, e.estado(), e.holdUntil()));
+            }
+            return vista;
+        }
         return asientoRepo.findByEventoIdEventoOrderByNumero(idEvento).stream()
                 .map(a -> new SeatView(a.getId(), a.getNumero(), a.getEstado(), a.getHoldUntil()))
                 .toList();
     }
 
-    @Transactional
-    public void hold(HoldSeatsRequest req) {
-        EventoDisponible evento = eventoRepo.findById(req.idEvento())
-                .orElseThrow(() -> new NoSuchElementException("Evento no encontrado"));
-
-        // Crear asientos si no existen aún (1..capacidad)
-        if (asientoRepo.countByEventoIdEventoAndEstado(evento.getIdEvento(), SeatStatus.AVAILABLE)
-                + asientoRepo.countByEventoIdEventoAndEstado(evento.getIdEvento(), SeatStatus.HOLD)
-                + asientoRepo.countByEventoIdEventoAndEstado(evento.getIdEvento(), SeatStatus.PURCHASED)
-                == 0) {
-            for (int n = 1; n <= evento.getCapacidad(); n++) {
-                asientoRepo.save(Asiento.builder()
-                        .evento(evento)
-                        .numero(n)
-                        .estado(SeatStatus.AVAILABLE)
-                        .build());
-            }
-        }
-
-        Instant now = Instant.now();
-
-        for (Integer n : req.asientos()) {
-            Asiento a = asientoRepo.findByEventoIdEventoAndNumero(evento.getIdEvento(), n)
-                    .orElseThrow(() -> new NoSuchElementException("Asiento "+n+" no existe"));
-
-            // Expirar HOLD vencido on-demand
-            if (a.getEstado() == SeatStatus.HOLD && a.getHoldUntil() != null && a.getHoldUntil().isBefore(now)) {
-                a.setEstado(SeatStatus.AVAILABLE);
-                a.setHoldUntil(null);
-            }
+    public SeatBitmapView getMapaAsientos(Long idEvento) {
+        SeatMap.Snapshot s = inventario.snapshot(idEvento);
+        return new SeatBitmapView(idEvento, s.capacidad(), s.version(), 2,
+                Base64.getEncoder().encodeToString(s.datos()));
+    }
 
-            if (a.getEstado() != SeatStatus.AVAILABLE) {
-                throw new IllegalStateException("Asiento "+n+" no disponible");
-            }
+    public void hold(HoldSeatsRequest req) {
+        Instant holdUntil = Instant.now().plus(holdMinutes, ChronoUnit.MINUTES);
 
-            a.setEstado(SeatStatus.HOLD);
-            a.setHoldUntil(now.plus(holdMinutes, ChronoUnit.MINUTES));
-            asientoRepo.saveAndFlush(a); // respeta @Version
+        // Todos o ninguno; la tabla asiento se actualiza en segundo plano
+        inventario.hold(req.idEvento(), req.asientos(), holdUntil);
 
-            publishSeatUpdate(evento.getIdEvento(), a);
-        }
+        broadcaster.publicar(req.idEvento(), req.asientos(), SeatStatus.HOLD, holdUntil);
     }
 
     @Transactional
     public FacturaResponse purchase(PurchaseRequest req) {
+        return purchase(req, null);
+    }
+
+    // Con Idempotency-Key, un reintento devuelve la factura original sin tocar asiento/factura/ticket
+    @Transactional
+    public FacturaResponse purchase(PurchaseRequest req, String idempotencyKey) {
+        boolean idempotente = idempotencyKey != null && !idempotencyKey.isBlank();
+        if (idempotente) {
+            Optional<FacturaResponse> previa = idempotencia.iniciar(idempotencyKey, req);
+            if (previa.isPresent()) return previa.get();
+        }
+
         EventoDisponible evento = eventoRepo.findById(req.idEvento())
                 .orElseThrow(() -> new NoSuchElementException("Evento no encontrado"));
 
         Instant now = Instant.now();
 
-        // Validar/confirmar todos los asientos
-        List<Asiento> asientos = new ArrayList<>();
-        for (Integer n : req.asientos()) {
-            Asiento a = asientoRepo.findByEventoIdEventoAndNumero(evento.getIdEvento(), n)
-                    .orElseThrow(() -> new NoSuchElementException("Asiento "+n+" no existe"));
+        // Validar/confirmar todos los asientos en memoria (se revierte si la transacción falla)
+        inventario.purchase(evento.getIdEvento(), req.asientos(), now);
 
-            if (a.getEstado() != SeatStatus.HOLD || a.getHoldUntil() == null || a.getHoldUntil().isBefore(now)) {
-                throw new IllegalStateException("Asiento "+n+" no está en HOLD o expiró");
-            }
-            a.setEstado(SeatStatus.PURCHASED);
-            a.setHoldUntil(null);
-            asientoRepo.saveAndFlush(a);
-            asientos.add(a);
+        List<Asiento> asientos = asientoRepo.findByEventoIdEventoAndNumeroIn(evento.getIdEvento(), req.asientos());
+        if (asientos.size() != req.asientos().size()) {
+            throw new NoSuchElementException("Algunos asientos no existen para el evento " + evento.getIdEvento());
         }
 
         // Totales
@@ -125,47 +117,62 @@ public class TicketService {
                 .build();
         factura = facturaRepo.save(factura);
 
-        // Tickets
+        // Tickets: un solo saveAll, Hibernate los envía en un batch JDBC
+        List<Ticket> tickets = new ArrayList<>(asientos.size());
         for (Asiento a : asientos) {
-            Ticket t = Ticket.builder()
+            tickets.add(Ticket.builder()
                     .evento(evento)
                     .asiento(a)
                     .factura(factura)
                     .purchasedAt(now)
                     .precioUnitario(unit)
-                    .build();
-            ticketRepo.save(t);
-        }
-
-        // WS updates
-        asientos.forEach(a -> publishSeatUpdate(evento.getIdEvento(), a));
-
-        // Enviar notificación por cola
-        try {
-            String mensaje = String.format("El usuario %s %s compró boletos del evento %d", 
-                                          req.nombre(), 
-                                          req.apellido(), 
-                                          evento.getIdEvento());
-            NotificacionesDTO notificacion = new NotificacionesDTO(mensaje, "Compra Boletos");
-            notificacionProducer.enviarNotificacion(notificacion);
-        } catch (Exception e) {
-            // Log error but don't fail the purchase
-            System.err.println("Error enviando notificación: " + e.getMessage());
+                    .build());
         }
-
-        return new FacturaResponse(
+        ticketRepo.saveAll(tickets);
+
+        // WS updates: al confirmar la transacción
+        broadcaster.publicarAlConfirmar(evento.getIdEvento(), req.asientos(), SeatStatus.PURCHASED);
+
+        // Notificación por cola: va al outbox dentro de esta transacción
+        String mensaje = String.format("El usuario %s %s compró boletos del evento %d",
+                                      req.nombre(),
+                                      req.apellido(),
+                                      evento.getIdEvento());
+        notificacionProducer.enviarNotificacion(new NotificacionesDTO(mensaje, "Compra Boletos"));
+        ventaProducer.enviarVenta(new VentaRealizadaDTO(factura.getId(), evento.getIdEvento(), evento.getFecha(),
+                evento.getCiudad(), tickets.size(), subtotal, iva, total, now));
+        metricas.registrarAlConfirmar(now, tickets.size(), total);
+
+        FacturaResponse respuesta = new FacturaResponse(
                 factura.getId(),
                 evento.getIdEvento(),
                 req.asientos(),
                 unit, subtotal, iva, total, now
         );
+        if (idempotente) {
+            idempotencia.registrar(idempotencyKey, req, respuesta);
+        }
+        return respuesta;
+    }
+
+    // Libera en lotes pequeños los holds cuyo vencimiento exacto ya pasó
+    public int releaseDueHolds() {
+        Instant ahora = Instant.now();
+        int total = 0;
+        for (Map.Entry<Long, Set<Integer>> e : vencimientos.vencidos().entrySet()) {
+            List<Integer> liberados = inventario.liberarVencidos(e.getKey(), e.getValue(), ahora);
+            if (!liberados.isEmpty()) {
+                broadcaster.publicar(e.getKey(), liberados, SeatStatus.AVAILABLE);
+                total += liberados.size();
+            }
+        }
+        return total;
     }
 
-    @Transactional
     public int releaseExpiredHolds() {
-        int released = asientoRepo.releaseExpired(Instant.now());
-        // (Opcional) Podrías reenviar por WS los liberados si los consultas.
-        return released;
+        Map<Long, List<Integer>> liberados = inventario.liberarVencidos(Instant.now());
+        liberados.forEach((idEvento, numeros) -> broadcaster.publicar(idEvento, numeros, SeatStatus.AVAILABLE));
+        return liberados.values().stream().mapToInt(List::size).sum();
     }
 
     public List<CompraResponse> getComprasByCedula(String cedula) {
@@ -195,81 +202,30 @@ public class TicketService {
         }).collect(Collectors.toList());
     }
 
-    private void publishSeatUpdate(Long idEvento, Asiento a) {
-        ws.convertAndSend("/topic/eventos/" + idEvento + "/asientos",
-                new SeatUpdateEvent(idEvento, a.getNumero(), a.getEstado(), a.getHoldUntil()));
-    }
-
-    // Métricas generales
+    // Métricas desde los acumulados diarios en memoria (días UTC)
     public MetricasDTO getMetricasGenerales() {
-        System.out.println("=== DEBUGGING MÉTRICAS GENERALES ===");
-        
-        Long totalTickets = facturaRepo.countAllTickets();
-        BigDecimal totalIngresos = facturaRepo.sumAllTotals();
-        Long totalFacturas = facturaRepo.count();
-        
-        System.out.println("Resultados queries generales:");
-        System.out.println("Total tickets (todos los tiempos): " + totalTickets);
-        System.out.println("Total ingresos (todos los tiempos): " + totalIngresos);
-        System.out.println("Total facturas (todos los tiempos): " + totalFacturas);
-        System.out.println("====================================");
-        
-        return MetricasDTO.builder()
-                .totalTickets(totalTickets != null ? totalTickets : 0L)
-                .totalFacturas(totalFacturas != null ? totalFacturas : 0L)
-                .totalIngresos(totalIngresos != null ? totalIngresos : BigDecimal.ZERO)
-                .periodo("Todos los tiempos")
-                .build();
+        return metricasDTO(metricas.totales(null, null), "Todos los tiempos");
     }
 
     // Métricas del mes actual
     public MetricasDTO getMetricasDelMes() {
-        LocalDate now = LocalDate.now();
+        LocalDate now = LocalDate.now(ZoneOffset.UTC);
         LocalDate startOfMonth = now.withDayOfMonth(1);
-        LocalDate nextMonth = startOfMonth.plusMonths(1);
-        
-        Instant startDate = startOfMonth.atStartOfDay().toInstant(ZoneOffset.UTC);
-        Instant endDate = nextMonth.atStartOfDay().toInstant(ZoneOffset.UTC); // Primer día del próximo mes
-        
-        System.out.println("=== DEBUGGING MÉTRICAS DEL MES ===");
-        System.out.println("Fecha actual: " + now);
-        System.out.println("Inicio del mes: " + startOfMonth);
-        System.out.println("Fin del mes (próximo mes): " + nextMonth);
-        System.out.println("StartDate (UTC): " + startDate);
-        System.out.println("EndDate (UTC): " + endDate);
-        
-        Long totalTickets = facturaRepo.countTicketsByDateRange(startDate, endDate);
-        BigDecimal totalIngresos = facturaRepo.sumTotalByDateRange(startDate, endDate);
-        Long totalFacturas = facturaRepo.countFacturasByDateRange(startDate, endDate);
-        
-        System.out.println("Resultados queries:");
-        System.out.println("Total tickets: " + totalTickets);
-        System.out.println("Total ingresos: " + totalIngresos);
-        System.out.println("Total facturas: " + totalFacturas);
-        System.out.println("===============================");
-        
-        return MetricasDTO.builder()
-                .totalTickets(totalTickets != null ? totalTickets : 0L)
-                .totalFacturas(totalFacturas != null ? totalFacturas : 0L)
-                .totalIngresos(totalIngresos != null ? totalIngresos : BigDecimal.ZERO)
-                .periodo("Mes actual (" + now.getMonth().name() + " " + now.getYear() + ")")
-                .build();
+        return metricasDTO(metricas.totales(startOfMonth, startOfMonth.plusMonths(1).minusDays(1)),
+                "Mes actual (" + now.getMonth().name() + " " + now.getYear() + ")");
     }
 
-    // Métricas por rango de fechas personalizado
+    // Métricas por rango de fechas personalizado (ambos días incluidos)
     public MetricasDTO getMetricasPorRango(LocalDate fechaInicio, LocalDate fechaFin) {
-        Instant startDate = fechaInicio.atStartOfDay().toInstant(ZoneOffset.UTC);
-        Instant endDate = fechaFin.atTime(23, 59, 59).toInstant(ZoneOffset.UTC);
-        
-        Long totalTickets = facturaRepo.countTicketsByDateRange(startDate, endDate);
-        BigDecimal totalIngresos = facturaRepo.sumTotalByDateRange(startDate, endDate);
-        Long totalFacturas = facturaRepo.countFacturasByDateRange(startDate, endDate);
-        
+        return metricasDTO(metricas.totales(fechaInicio, fechaFin), "Del " + fechaInicio + " al " + fechaFin);
+    }
+
+    private MetricasDTO metricasDTO(MetricasVentas.Totales t, String periodo) {
         return MetricasDTO.builder()
-                .totalTickets(totalTickets)
-                .totalFacturas(totalFacturas)
-                .totalIngresos(totalIngresos)
-                .periodo("Del " + fechaInicio + " al " + fechaFin)
+                .totalTickets(t.tickets())
+                .totalFacturas(t.facturas())
+                .totalIngresos(t.ingresos())
+                .periodo(periodo)
                 .build();
     }
 }
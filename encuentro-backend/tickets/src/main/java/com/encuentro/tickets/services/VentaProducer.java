@@ -0,0 +1,17 @@
+package com.encuentro.tickets.services;
+
+import com.encuentro.tickets.config.RabbitMQConfig;
+import com.encuentro.tickets.dto.VentaRealizadaDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class VentaProducer {
+
+    private final OutboxPublisher outbox;
+
+    public void enviarVenta(VentaRealizadaDTO venta) {
+        outbox.publicar(RabbitMQConfig.COLA_TICKETS, venta);
+    }
+}
@@ -0,0 +1,11 @@
+package com.encuentro.tickets.ws;
+
+// Cambios de asientos de un evento acumulados en una ventana:
+// asientos[i] pasó al estado estados.charAt(i) (A = AVAILABLE, H = HOLD, P = PURCHASED);
+// vence[i] es el fin del HOLD en epoch millis (0 si no es HOLD)
+public record SeatDeltaEvent(
+        Long idEvento,
+        int[] asientos,
+        String estados,
+        long[] vence
+) {}
@@ -0,0 +1,75 @@
+package com.encuentro.tickets.ws;
+
+import com.encuentro.tickets.model.SeatStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Acumula los cambios de asientos por evento y envía un solo frame STOMP por ventana
+@Component
+@RequiredArgsConstructor
+public class SeatUpdateBroadcaster {
+
+    private final SimpMessagingTemplate ws;
+
+    // Estado nuevo y vencimiento del HOLD (epoch millis, 0 en los demás estados)
+    private record Cambio(SeatStatus estado, long vence) {}
+
+    private final Map<Long, Map<Integer, Cambio>> pendientes = new ConcurrentHashMap<>();
+
+    public void publicar(Long idEvento, Collection<Integer> numeros, SeatStatus estado) {
+        publicar(idEvento, numeros, estado, null);
+    }
+
+    public void publicar(Long idEvento, Collection<Integer> numeros, SeatStatus estado, Instant holdUntil) {
+        Cambio cambio = new Cambio(estado, holdUntil != null ? holdUntil.toEpochMilli() : 0L);
+        // Dentro de la ventana gana el último estado de cada asiento
+        pendientes.compute(idEvento, (k, cambios) -> {
+            if (cambios == null) cambios = new LinkedHashMap<>();
+            for (Integer n : numeros) cambios.put(n, cambio);
+            return cambios;
+        });
+    }
+
+    // Dentro de una transacción el cambio se publica solo si se confirma (una compra revertida
+    // no llega a los clientes)
+    public void publicarAlConfirmar(Long idEvento, Collection<Integer> numeros, SeatStatus estado) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publicar(idEvento, numeros, estado);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publicar(idEvento, numeros, estado);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.ws.ventana-ms:50}")
+    public void emitir() {
+        for (Long idEvento : new ArrayList<>(pendientes.keySet())) {
+            Map<Integer, Cambio> cambios = pendientes.remove(idEvento);
+            if (cambios == null || cambios.isEmpty()) continue;
+
+            int[] asientos = new int[cambios.size()];
+            long[] vence = new long[cambios.size()];
+            StringBuilder estados = new StringBuilder(cambios.size());
+            int i = 0;
+            for (Map.Entry<Integer, Cambio> e : cambios.entrySet()) {
+                asientos[i] = e.getKey();
+                vence[i++] = e.getValue().vence();
+                estados.append(e.getValue().estado().name().charAt(0));
+            }
+            ws.convertAndSend("/topic/eventos/" + idEvento + "/asientos",
+                    new SeatDeltaEvent(idEvento, asientos, estados.toString(), vence));
+        }
+    }
+}
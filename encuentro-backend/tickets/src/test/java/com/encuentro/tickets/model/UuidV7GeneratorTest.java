@@ -0,0 +1,33 @@
+package com.encuentro.tickets.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+	@Test
+	void versionVarianteYTiempo() {
+		long antes = System.currentTimeMillis();
+		UUID id = UuidV7Generator.siguiente();
+		long despues = System.currentTimeMillis();
+
+		assertEquals(7, id.version());
+		assertEquals(2, id.variant());
+		long ms = id.getMostSignificantBits() >>> 16;
+		assertTrue(ms >= antes && ms <= despues + 1, "timestamp fuera de rango: " + ms);
+	}
+
+	@Test
+	void crecientesDentroDelMismoMilisegundo() {
+		long previo = UuidV7Generator.siguiente().getMostSignificantBits();
+		// Más de 4096 por ms desborda el contador de 12 bits y adelanta el timestamp
+		for (int i = 0; i < 10_000; i++) {
+			long actual = UuidV7Generator.siguiente().getMostSignificantBits();
+			assertTrue(actual > previo, "no creciente en la iteración " + i);
+			previo = actual;
+		}
+	}
+}
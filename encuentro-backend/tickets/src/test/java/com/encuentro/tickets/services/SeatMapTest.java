@@ -0,0 +1,115 @@
+package com.encuentro.tickets.services;
+
+import com.encuentro.tickets.model.SeatStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+	private static final long AHORA = 1_000_000L;
+	private static final long HASTA = AHORA + 60_000L;
+
+	@Test
+	void holdYCompraActualizanEstadosYConteo() {
+		SeatMap mapa = new SeatMap(5);
+		mapa.hold(List.of(1, 2), HASTA, AHORA);
+		assertEquals(new SeatMap.Conteo(3, 2, 0), mapa.conteo());
+		assertEquals(new SeatMap.Estado(SeatStatus.HOLD, Instant.ofEpochMilli(HASTA)), mapa.leer(1));
+
+		mapa.purchase(List.of(1, 2), AHORA + 1);
+		assertEquals(new SeatMap.Conteo(3, 0, 2), mapa.conteo());
+		assertEquals(new SeatMap.Estado(SeatStatus.PURCHASED, null), mapa.leer(2));
+	}
+
+	@Test
+	void holdEsTodoONada() {
+		SeatMap mapa = new SeatMap(5);
+		mapa.hold(List.of(2), HASTA, AHORA);
+
+		assertThrows(IllegalStateException.class, () -> mapa.hold(List.of(1, 2), HASTA, AHORA));
+		assertThrows(IllegalStateException.class, () -> mapa.hold(List.of(3, 3), HASTA, AHORA));
+		assertThrows(NoSuchElementException.class, () -> mapa.hold(List.of(6), HASTA, AHORA));
+		assertEquals(SeatStatus.AVAILABLE, mapa.leer(1).estado());
+		assertEquals(SeatStatus.AVAILABLE, mapa.leer(3).estado());
+		assertEquals(new SeatMap.Conteo(4, 1, 0), mapa.conteo());
+	}
+
+	@Test
+	void holdVencidoSeVeDisponibleYSePuedeRetomar() {
+		SeatMap mapa = new SeatMap(3);
+		mapa.hold(List.of(1), HASTA, AHORA);
+
+		assertEquals(SeatStatus.AVAILABLE, mapa.actual(1, HASTA + 1).estado());
+		assertEquals(SeatStatus.HOLD, mapa.actual(1, HASTA).estado());
+
+		mapa.hold(List.of(1), HASTA + 120_000L, HASTA + 1);
+		assertEquals(Instant.ofEpochMilli(HASTA + 120_000L), mapa.leer(1).holdUntil());
+	}
+
+	@Test
+	void compraRequiereHoldVigente() {
+		SeatMap mapa = new SeatMap(3);
+		assertThrows(IllegalStateException.class, () -> mapa.purchase(List.of(1), AHORA));
+
+		mapa.hold(List.of(1, 2), HASTA, AHORA);
+		assertThrows(IllegalStateException.class, () -> mapa.purchase(List.of(1, 2), HASTA + 1));
+		assertThrows(IllegalStateException.class, () -> mapa.purchase(List.of(1, 3), AHORA));
+		assertEquals(new SeatMap.Conteo(1, 2, 0), mapa.conteo());
+	}
+
+	@Test
+	void revertirCompraDevuelveElHoldPrevio() {
+		SeatMap mapa = new SeatMap(3);
+		mapa.hold(List.of(1, 2), HASTA, AHORA);
+		long[] previos = mapa.purchase(List.of(1, 2), AHORA);
+
+		mapa.revertirPurchase(List.of(1, 2), previos);
+		assertEquals(new SeatMap.Estado(SeatStatus.HOLD, Instant.ofEpochMilli(HASTA)), mapa.leer(1));
+		assertEquals(new SeatMap.Conteo(1, 2, 0), mapa.conteo());
+	}
+
+	@Test
+	void liberarVencidosSoloTocaHoldsVencidos() {
+		SeatMap mapa = new SeatMap(4);
+		mapa.hold(List.of(1), AHORA + 10, AHORA);
+		mapa.hold(List.of(2), HASTA, AHORA);
+		mapa.hold(List.of(3), AHORA + 10, AHORA);
+		mapa.purchase(List.of(3), AHORA);
+
+		assertEquals(List.of(1), mapa.liberarVencidos(AHORA + 11));
+		assertEquals(List.of(), mapa.liberarVencidos(List.of(2, 3), AHORA + 11));
+		assertEquals(new SeatMap.Conteo(2, 1, 1), mapa.conteo());
+	}
+
+	@Test
+	void cargarMantieneLosContadores() {
+		SeatMap mapa = new SeatMap(3);
+		mapa.cargar(UUID.randomUUID(), 1, SeatStatus.PURCHASED, null);
+		mapa.cargar(UUID.randomUUID(), 2, SeatStatus.HOLD, Instant.ofEpochMilli(HASTA));
+		mapa.cargar(UUID.randomUUID(), 2, SeatStatus.AVAILABLE, null);
+		mapa.cargar(UUID.randomUUID(), 9, SeatStatus.HOLD, Instant.ofEpochMilli(HASTA));
+
+		assertEquals(new SeatMap.Conteo(2, 0, 1), mapa.conteo());
+	}
+
+	@Test
+	void snapshotEmpaquetaDosBitsPorAsiento() {
+		SeatMap mapa = new SeatMap(5);
+		mapa.hold(List.of(2, 5), HASTA, AHORA);
+		mapa.purchase(List.of(5), AHORA);
+
+		SeatMap.Snapshot s = mapa.snapshot();
+		// Asiento 2 en los bits 2-3 (HOLD = 1), asiento 5 en los bits 0-1 del segundo byte (PURCHASED = 2)
+		assertArrayEquals(new byte[]{(byte) (SeatStatus.HOLD.ordinal() << 2), (byte) SeatStatus.PURCHASED.ordinal()}, s.datos());
+		assertSame(s, mapa.snapshot());
+
+		mapa.liberarVencidos(HASTA + 1);
+		assertNotEquals(s.version(), mapa.snapshot().version());
+	}
+}
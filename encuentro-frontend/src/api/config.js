@@ -98,6 +98,7 @@ export const API_CONFIG = {
       DELETE: '/ms-notificaciones/api/notificaciones/{id}',
       SEND: '/ms-notificaciones/api/notificaciones/enviar',
       ULTIMAS: '/ms-notificaciones/api/notificaciones/ultimas',
+      STREAM: '/ms-notificaciones/api/notificaciones/stream',
       PAGINADAS: '/ms-notificaciones/api/notificaciones/paginadas'
     },
     
@@ -165,6 +165,22 @@ export const notificacionesAPI = {
     }
   },
 
+  // Notificaciones en vivo (SSE). EventSource no envía cabeceras: el token viaja en la cookie
+  // "token", que el gateway también acepta. Al reconectar el navegador manda Last-Event-ID
+  abrirStream: (onNotificacion) => {
+    const token = localStorage.getItem('authToken');
+    if (token) document.cookie = `token=${token}; path=/; SameSite=Lax`;
+    const source = new EventSource(buildUrl(API_CONFIG.ENDPOINTS.NOTIFICACIONES.STREAM), { withCredentials: true });
+    source.addEventListener('notificacion', (e) => {
+      try {
+        onNotificacion(JSON.parse(e.data));
+      } catch (err) {
+        console.error('Notificación del stream no válida', err);
+      }
+    });
+    return source;
+  },
+
   // Obtener notificaciones paginadas
   getPaginadas: async (page = 0, size = 10) => {
     try {
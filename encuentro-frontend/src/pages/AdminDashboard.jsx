@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useMemo } from 'react';
+import React, { useState, useEffect, useMemo, useRef } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
 import { UserForm, EventForm } from '../components/forms';
@@ -42,6 +42,7 @@ export default function AdminDashboard() {
   const [loadingNotifications, setLoadingNotifications] = useState(false);
   const [errorNotifications, setErrorNotifications] = useState(null);
   const [notificationsPage, setNotificationsPage] = useState(0);
+  const notificationsPageRef = useRef(0);
   const [notificationsTotalPages, setNotificationsTotalPages] = useState(0);
 
   // Form states
@@ -622,25 +623,22 @@ export default function AdminDashboard() {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [activeSection]);
 
-  // Auto-refresh para notificaciones cada 1 minuto
   useEffect(() => {
-    let interval;
-    
-    if (activeSection === 'notifications') {
-      console.log('🔄 Iniciando auto-refresh de notificaciones cada 1 minuto');
-      interval = setInterval(() => {
-        console.log('🔄 Auto-refresh: Recargando notificaciones...');
-        loadNotifications(notificationsPage);
-      }, 60000); // 60 segundos
-    }
-    
-    return () => {
-      if (interval) {
-        console.log('🔄 Deteniendo auto-refresh de notificaciones');
-        clearInterval(interval);
-      }
-    };
-  }, [activeSection, notificationsPage]);
+    notificationsPageRef.current = notificationsPage;
+  }, [notificationsPage]);
+
+  // Notificaciones en vivo por SSE en lugar de recargar cada minuto: las nuevas se agregan
+  // al inicio de la primera página (el backfill puede repetir ids, se descartan)
+  useEffect(() => {
+    if (activeSection !== 'notifications') return undefined;
+    const source = notificacionesAPI.abrirStream((n) => {
+      if (notificationsPageRef.current !== 0) return;
+      setNotifications((prev) => (prev.some((p) => p.id === n.id)
+        ? prev
+        : [n, ...prev].sort((a, b) => b.id - a.id).slice(0, 10)));
+    });
+    return () => source.close();
+  }, [activeSection]);
 
   const menuItems = [
     {
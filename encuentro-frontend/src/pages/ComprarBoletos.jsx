@@ -411,26 +411,40 @@ const ComprarBoletos = () => {
               try {
                 const payload = JSON.parse(frame.body);
                 console.log("WebSocket mensaje recibido:", payload);
-                // payload: { idEvento, asiento(numero), estado, holdUntil }
-                const { asiento: numero, estado, holdUntil } = payload;
+                // payload: { idEvento, asientos: [numero...], estados: "AHP...", vence: [millis...] }
+                // (un carácter por asiento: A = AVAILABLE, H = HOLD, P = PURCHASED;
+                // vence = fin del HOLD en epoch millis, 0 si no aplica)
+                const ESTADOS = { A: "AVAILABLE", H: "HOLD", P: "PURCHASED" };
+                const cambios = (payload.asientos || []).map((numero, i) => ({
+                  numero,
+                  estado: ESTADOS[payload.estados.charAt(i)],
+                  vence: payload.vence?.[i] || 0,
+                }));
 
                 setSeats((prev) => {
                   const map = new Map(prev);
-                  const s = map.get(numero) || { numero };
-                  map.set(numero, {
-                    ...s,
-                    estado,
-                    holdUntil,
-                    asientoId: s.asientoId,
+                  cambios.forEach(({ numero, estado, vence }) => {
+                    const s = map.get(numero) || { numero };
+                    map.set(numero, {
+                      ...s,
+                      estado,
+                      // Un nuevo HOLD trae su propio vencimiento; el anterior ya no aplica
+                      holdUntil:
+                        estado === "HOLD" && vence
+                          ? new Date(vence).toISOString()
+                          : null,
+                      asientoId: s.asientoId,
+                    });
                   });
                   return map;
                 });
 
                 // Si un asiento cambió a !HOLD, quítalo de mi selección
-                if (estado !== "HOLD") {
+                const liberados = cambios.filter((c) => c.estado !== "HOLD");
+                if (liberados.length > 0) {
                   setSelected((prev) => {
                     const copy = new Set(prev);
-                    copy.delete(numero);
+                    liberados.forEach((c) => copy.delete(c.numero));
                     return copy;
                   });
                 }